@@ -0,0 +1,21 @@
+package study.querydsl.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 부분 일치 조건 ({@code path like '%value%'})
+ * - 값이 공백이면 조건에서 제외
+ * - 인덱스를 탈 수 없는 조건이므로 후보 id 를 좁히는 별도 조건과 함께 사용하는 것을 권장
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Contains {
+    String value() default "";
+
+    String path() default "";
+
+    boolean lowerCase() default false;
+}
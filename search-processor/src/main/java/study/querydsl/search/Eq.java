@@ -0,0 +1,24 @@
+package study.querydsl.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 같음 조건 ({@code path.eq(value)})
+ * - 값이 null(문자열은 공백)이면 조건에서 제외
+ * - path 를 생략하면 필드명 사용, "team.name" 처럼 연관관계 경로 지정 가능
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Eq {
+    String value() default "";
+
+    String path() default "";
+
+    /**
+     * 값을 소문자(Locale.ROOT)로 바꿔 비교 - 쓰기 시점에 소문자로 저장한 정규화 컬럼 경로와 함께 사용
+     */
+    boolean lowerCase() default false;
+}
@@ -0,0 +1,18 @@
+package study.querydsl.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 이상 조건 ({@code path.goe(value)})
+ * - 값이 null 이면 조건에서 제외
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Goe {
+    String value() default "";
+
+    String path() default "";
+}
@@ -0,0 +1,17 @@
+package study.querydsl.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 검색 조건 DTO 표시
+ * - 컴파일 시 같은 패키지에 {DTO 이름}Predicates 클래스가 생성됨
+ * - 필드에 선언한 @Eq, @Goe, @Loe 경로는 root 엔티티 기준
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface SearchCondition {
+    Class<?> root();
+}
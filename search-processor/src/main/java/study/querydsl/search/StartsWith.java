@@ -0,0 +1,22 @@
+package study.querydsl.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 앞부분 일치 조건 ({@code path like 'value%'})
+ * - 값이 공백이면 조건에서 제외, 값의 % _ 는 Querydsl 이 escape 처리
+ * - 접두어 like 는 인덱스 범위 스캔이 가능하므로 lower() 같은 함수를 경로에 씌우지 말고
+ *   lowerCase = true 와 정규화 컬럼을 함께 사용
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface StartsWith {
+    String value() default "";
+
+    String path() default "";
+
+    boolean lowerCase() default false;
+}
@@ -0,0 +1,331 @@
+package study.querydsl.search.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @SearchCondition DTO 의 필드 어노테이션을 읽어 Querydsl 조건 생성 클래스를 만드는 프로세서
+ * - 리플렉션 없이 getter 호출과 Q 타입 경로만 사용하는 정적 메서드 생성
+ * - 값이 있는 필드 조합(shape)을 비트마스크로 계산하고, shape 별 키 문자열은 클래스 로딩 시 한 번만 생성
+ * - sample(shape): 해당 shape 의 필드만 채운 조건 (쿼리 플랜 워밍업 등 모든 조합을 실행할 때 사용)
+ *   문자열은 "sample", 숫자는 0, enum 은 첫 상수, 그 밖의 타입은 값을 만들 수 없어 null
+ * - 연관관계 경로("team.name")는 조인 대상 엔티티의 기본 별칭(QTeam.team) 기준으로 변환
+ *   (리포지토리의 leftJoin(member.team, team) 관례와 동일)
+ */
+@SupportedAnnotationTypes("study.querydsl.search.SearchCondition")
+public class SearchPredicateProcessor extends AbstractProcessor {
+
+    private static final String SEARCH_CONDITION = "study.querydsl.search.SearchCondition";
+    private static final String ENTITY = "javax.persistence.Entity";
+
+    // 필드 어노테이션 -> Querydsl 메서드
+    private static final Map<String, String> OPERATIONS = new LinkedHashMap<>();
+
+    static {
+        OPERATIONS.put("study.querydsl.search.Eq", "eq");
+        OPERATIONS.put("study.querydsl.search.Goe", "goe");
+        OPERATIONS.put("study.querydsl.search.Loe", "loe");
+        OPERATIONS.put("study.querydsl.search.StartsWith", "startsWith");
+        OPERATIONS.put("study.querydsl.search.Contains", "contains");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement searchCondition = processingEnv.getElementUtils().getTypeElement(SEARCH_CONDITION);
+        if (searchCondition == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(searchCondition)) {
+            TypeElement type = (TypeElement) element;
+            try {
+                generate(type, rootOf(type));
+            } catch (IllegalArgumentException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), element);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "조건 클래스 생성 실패: " + e, element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type, TypeElement root) throws IOException {
+        List<Filter> filters = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+                String annotation = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+                String operation = OPERATIONS.get(annotation);
+                if (operation == null) {
+                    continue;
+                }
+                if (field.asType().getKind().isPrimitive()) {
+                    throw new IllegalArgumentException(field.getSimpleName() + ": 검색 조건 필드는 래퍼 타입이어야 함");
+                }
+
+                String name = field.getSimpleName().toString();
+                String path = valueOf(mirror, "path");
+                if (path.isEmpty()) {
+                    path = valueOf(mirror, "value");
+                }
+                if (path.isEmpty()) {
+                    path = name;
+                }
+                boolean lowerCase = Boolean.parseBoolean(valueOf(mirror, "lowerCase"));
+                if ((lowerCase || "startsWith".equals(operation) || "contains".equals(operation))
+                        && !"java.lang.String".equals(field.asType().toString())) {
+                    throw new IllegalArgumentException(name + ": lowerCase/@StartsWith/@Contains 는 String 필드에만 사용 가능");
+                }
+                filters.add(new Filter(name, field.asType(), operation, resolvePath(root, path), lowerCase));
+            }
+        }
+
+        String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        String className = type.getSimpleName() + "Predicates";
+        String conditionType = type.getQualifiedName().toString();
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageName + "." + className, type).openWriter())) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import com.querydsl.core.types.Predicate;");
+            out.println("import com.querydsl.core.types.dsl.BooleanExpression;");
+            out.println("import org.springframework.util.StringUtils;");
+            out.println();
+            out.println("@javax.annotation.Generated(\"" + getClass().getName() + "\")");
+            out.println("public final class " + className + " {");
+            out.println();
+            out.print("    private static final String[] FIELDS = {");
+            for (int i = 0; i < filters.size(); i++) {
+                out.print((i == 0 ? "" : ", ") + "\"" + filters.get(i).name + "\"");
+            }
+            out.println("};");
+            out.println("    public static final int SHAPE_COUNT = 1 << FIELDS.length;");
+            out.println("    private static final String[] SHAPE_KEYS = new String[SHAPE_COUNT];");
+            out.println();
+            out.println("    static {");
+            out.println("        for (int shape = 0; shape < SHAPE_KEYS.length; shape++) {");
+            out.println("            StringBuilder key = new StringBuilder(\"[\");");
+            out.println("            for (int i = 0; i < FIELDS.length; i++) {");
+            out.println("                if ((shape & (1 << i)) != 0) {");
+            out.println("                    key.append(key.length() > 1 ? \",\" : \"\").append(FIELDS[i]);");
+            out.println("                }");
+            out.println("            }");
+            out.println("            SHAPE_KEYS[shape] = key.append(']').toString();");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+            out.println("    private " + className + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    public static Predicate[] of(" + conditionType + " condition) {");
+            out.println("        return new Predicate[]{");
+            for (int i = 0; i < filters.size(); i++) {
+                Filter filter = filters.get(i);
+                out.println("                " + (i == 0 ? "" : ", ") + filter.name + "(condition." + filter.getter() + "())");
+            }
+            out.println("        };");
+            out.println("    }");
+            out.println();
+            out.println("    public static int shape(" + conditionType + " condition) {");
+            out.println("        int shape = 0;");
+            for (int i = 0; i < filters.size(); i++) {
+                Filter filter = filters.get(i);
+                out.println("        if (" + filter.presentCheck("condition." + filter.getter() + "()") + ") {");
+                out.println("            shape |= " + (1 << i) + ";");
+                out.println("        }");
+            }
+            out.println("        return shape;");
+            out.println("    }");
+            out.println();
+            out.println("    public static String shapeKey(" + conditionType + " condition) {");
+            out.println("        return SHAPE_KEYS[shape(condition)];");
+            out.println("    }");
+            out.println();
+            out.println("    public static String shapeKey(int shape) {");
+            out.println("        return SHAPE_KEYS[shape];");
+            out.println("    }");
+            out.println();
+            out.println("    public static " + conditionType + " sample(int shape) {");
+            out.println("        " + conditionType + " condition = new " + conditionType + "();");
+            for (int i = 0; i < filters.size(); i++) {
+                Filter filter = filters.get(i);
+                out.println("        if ((shape & " + (1 << i) + ") != 0) {");
+                out.println("            condition." + filter.setter() + "(" + sampleValue(filter.typeMirror) + ");");
+                out.println("        }");
+            }
+            out.println("        return condition;");
+            out.println("    }");
+            for (Filter filter : filters) {
+                out.println();
+                out.println("    public static BooleanExpression " + filter.name + "(" + filter.type + " value) {");
+                out.println("        return " + filter.presentCheck("value") + " ? " + filter.expression("value") + " : null;");
+                out.println("    }");
+            }
+            out.println("}");
+        }
+    }
+
+    private String sampleValue(TypeMirror type) {
+        String name = type.toString();
+        if ("java.lang.String".equals(name)) {
+            return "\"sample\"";
+        }
+        if ("java.lang.Boolean".equals(name)) {
+            return "java.lang.Boolean.TRUE";
+        }
+        if ("java.math.BigDecimal".equals(name) || "java.math.BigInteger".equals(name)) {
+            return name + ".ZERO";
+        }
+        if (name.startsWith("java.lang.") && processingEnv.getTypeUtils().isAssignable(type,
+                processingEnv.getElementUtils().getTypeElement("java.lang.Number").asType())) {
+            return name + ".valueOf(\"0\")";
+        }
+        if (type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM) {
+            return name + ".values()[0]";
+        }
+        return "null";
+    }
+
+    /**
+     * "team.name" -> study.querydsl.entity.QTeam.team.name
+     */
+    private String resolvePath(TypeElement root, String path) {
+        String[] segments = path.split("\\.");
+        TypeElement current = root;
+        String expression = defaultAlias(root);
+
+        for (int i = 0; i < segments.length; i++) {
+            VariableElement field = findField(current, segments[i]);
+            if (field == null) {
+                throw new IllegalArgumentException(current.getSimpleName() + " 에 '" + segments[i] + "' 필드가 없음: " + path);
+            }
+            if (i == segments.length - 1) {
+                return expression + "." + segments[i];
+            }
+
+            TypeMirror fieldType = field.asType();
+            if (fieldType.getKind() != TypeKind.DECLARED) {
+                throw new IllegalArgumentException("'" + segments[i] + "' 는 연관관계/임베디드 타입이 아님: " + path);
+            }
+            current = (TypeElement) ((DeclaredType) fieldType).asElement();
+            expression = isEntity(current) ? defaultAlias(current) : expression + "." + segments[i];
+        }
+        return expression;
+    }
+
+    private VariableElement findField(TypeElement type, String name) {
+        TypeElement current = type;
+        while (current != null) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getSimpleName().contentEquals(name)) {
+                    return field;
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return null;
+    }
+
+    private boolean isEntity(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ENTITY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String defaultAlias(TypeElement entity) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String simpleName = entity.getSimpleName().toString();
+        return packageName + ".Q" + simpleName + "." + Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+    }
+
+    private TypeElement rootOf(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(SEARCH_CONDITION)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("root")) {
+                        return (TypeElement) ((DeclaredType) entry.getValue().getValue()).asElement();
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException(type.getSimpleName() + ": @SearchCondition(root) 누락");
+    }
+
+    private String valueOf(AnnotationMirror mirror, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return "";
+    }
+
+    private static final class Filter {
+        private final String name;
+        private final String type;
+        private final TypeMirror typeMirror;
+        private final String operation;
+        private final String path;
+        private final boolean lowerCase;
+
+        private Filter(String name, TypeMirror type, String operation, String path, boolean lowerCase) {
+            this.name = name;
+            this.type = type.toString();
+            this.typeMirror = type;
+            this.operation = operation;
+            this.path = path;
+            this.lowerCase = lowerCase;
+        }
+
+        private String getter() {
+            return "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
+        private String setter() {
+            return "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
+        private String presentCheck(String value) {
+            return "java.lang.String".equals(type) ? "StringUtils.hasText(" + value + ")" : value + " != null";
+        }
+
+        private String expression(String value) {
+            String argument = lowerCase ? value + ".toLowerCase(java.util.Locale.ROOT)" : value;
+            return path + "." + operation + "(" + argument + ")";
+        }
+    }
+}
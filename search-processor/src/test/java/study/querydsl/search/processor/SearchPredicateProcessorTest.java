@@ -0,0 +1,153 @@
+package study.querydsl.search.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 생성된 *Predicates 소스 확인
+ * - Q 타입은 querydsl-core 로 직접 작성한 스텁 사용, 생성 코드도 함께 컴파일되어야 성공
+ */
+class SearchPredicateProcessorTest {
+
+    private static final JavaFileObject ENTITY = JavaFileObjects.forSourceLines("javax.persistence.Entity",
+            "package javax.persistence;",
+            "public @interface Entity {}");
+
+    // JDK 11+ 에는 없는 어노테이션 (애플리케이션에서는 javax.annotation-api 제공)
+    private static final JavaFileObject GENERATED = JavaFileObjects.forSourceLines("javax.annotation.Generated",
+            "package javax.annotation;",
+            "public @interface Generated { String[] value(); }");
+
+    private static final JavaFileObject TEAM = JavaFileObjects.forSourceLines("sample.Team",
+            "package sample;",
+            "@javax.persistence.Entity",
+            "public class Team {",
+            "    String name;",
+            "}");
+
+    private static final JavaFileObject MEMBER = JavaFileObjects.forSourceLines("sample.Member",
+            "package sample;",
+            "@javax.persistence.Entity",
+            "public class Member {",
+            "    String username;",
+            "    String usernameLower;",
+            "    int age;",
+            "    Team team;",
+            "}");
+
+    private static final JavaFileObject Q_TEAM = JavaFileObjects.forSourceLines("sample.QTeam",
+            "package sample;",
+            "import com.querydsl.core.types.dsl.*;",
+            "public class QTeam extends EntityPathBase<Team> {",
+            "    public static final QTeam team = new QTeam(\"team\");",
+            "    public final StringPath name = createString(\"name\");",
+            "    public QTeam(String variable) { super(Team.class, variable); }",
+            "}");
+
+    private static final JavaFileObject Q_MEMBER = JavaFileObjects.forSourceLines("sample.QMember",
+            "package sample;",
+            "import com.querydsl.core.types.dsl.*;",
+            "public class QMember extends EntityPathBase<Member> {",
+            "    public static final QMember member = new QMember(\"member1\");",
+            "    public final StringPath username = createString(\"username\");",
+            "    public final StringPath usernameLower = createString(\"usernameLower\");",
+            "    public final NumberPath<Integer> age = createNumber(\"age\", Integer.class);",
+            "    public QMember(String variable) { super(Member.class, variable); }",
+            "}");
+
+    @Test
+    public void generatesOperations() throws IOException {
+        JavaFileObject condition = JavaFileObjects.forSourceLines("sample.MemberCondition",
+                "package sample;",
+                "import study.querydsl.search.*;",
+                "@SearchCondition(root = Member.class)",
+                "public class MemberCondition {",
+                "    @Eq(\"username\") String username;",
+                "    @Eq(\"team.name\") String teamName;",
+                "    @Goe(\"age\") Integer ageGoe;",
+                "    @Loe(\"age\") Integer ageLoe;",
+                "    @Eq(value = \"usernameLower\", lowerCase = true) String usernameIgnoreCase;",
+                "    @StartsWith(value = \"usernameLower\", lowerCase = true) String usernamePrefix;",
+                "    @Contains(path = \"usernameLower\") String usernameContains;",
+                "    public String getUsername() { return username; }",
+                "    public String getTeamName() { return teamName; }",
+                "    public Integer getAgeGoe() { return ageGoe; }",
+                "    public Integer getAgeLoe() { return ageLoe; }",
+                "    public String getUsernameIgnoreCase() { return usernameIgnoreCase; }",
+                "    public String getUsernamePrefix() { return usernamePrefix; }",
+                "    public String getUsernameContains() { return usernameContains; }",
+                "    public void setUsername(String value) { username = value; }",
+                "    public void setTeamName(String value) { teamName = value; }",
+                "    public void setAgeGoe(Integer value) { ageGoe = value; }",
+                "    public void setAgeLoe(Integer value) { ageLoe = value; }",
+                "    public void setUsernameIgnoreCase(String value) { usernameIgnoreCase = value; }",
+                "    public void setUsernamePrefix(String value) { usernamePrefix = value; }",
+                "    public void setUsernameContains(String value) { usernameContains = value; }",
+                "}");
+
+        Compilation compilation = compile(condition);
+
+        assertThat(compilation).succeeded();
+        String generated = compilation.generatedSourceFile("sample.MemberConditionPredicates").get()
+                .getCharContent(true).toString();
+        assertContains(generated, "FIELDS = {\"username\", \"teamName\", \"ageGoe\", \"ageLoe\", \"usernameIgnoreCase\""
+                + ", \"usernamePrefix\", \"usernameContains\"}");
+        assertContains(generated, "StringUtils.hasText(value) ? sample.QMember.member.username.eq(value) : null");
+        assertContains(generated, "sample.QTeam.team.name.eq(value)");
+        assertContains(generated, "value != null ? sample.QMember.member.age.goe(value) : null");
+        assertContains(generated, "value != null ? sample.QMember.member.age.loe(value) : null");
+        assertContains(generated, "sample.QMember.member.usernameLower.eq(value.toLowerCase(java.util.Locale.ROOT))");
+        assertContains(generated, "sample.QMember.member.usernameLower.startsWith(value.toLowerCase(java.util.Locale.ROOT))");
+        assertContains(generated, "sample.QMember.member.usernameLower.contains(value)");
+        assertContains(generated, "shape |= 64;");
+        assertContains(generated, "public static final int SHAPE_COUNT = 1 << FIELDS.length;");
+        assertContains(generated, "condition.setTeamName(\"sample\");");
+        assertContains(generated, "condition.setAgeGoe(java.lang.Integer.valueOf(\"0\"));");
+    }
+
+    @Test
+    public void rejectsStartsWithOnNonString() {
+        JavaFileObject condition = JavaFileObjects.forSourceLines("sample.AgeCondition",
+                "package sample;",
+                "import study.querydsl.search.*;",
+                "@SearchCondition(root = Member.class)",
+                "public class AgeCondition {",
+                "    @StartsWith(\"age\") Integer age;",
+                "    public Integer getAge() { return age; }",
+                "}");
+
+        assertThat(compile(condition)).hadErrorContaining("String 필드에만 사용 가능");
+    }
+
+    @Test
+    public void rejectsUnknownPath() {
+        JavaFileObject condition = JavaFileObjects.forSourceLines("sample.UnknownCondition",
+                "package sample;",
+                "import study.querydsl.search.*;",
+                "@SearchCondition(root = Member.class)",
+                "public class UnknownCondition {",
+                "    @Eq(\"team.title\") String title;",
+                "    public String getTitle() { return title; }",
+                "}");
+
+        assertThat(compile(condition)).hadErrorContaining("Team 에 'title' 필드가 없음");
+    }
+
+    private static Compilation compile(JavaFileObject condition) {
+        return Compiler.javac()
+                .withProcessors(new SearchPredicateProcessor())
+                .compile(ENTITY, GENERATED, TEAM, MEMBER, Q_TEAM, Q_MEMBER, condition);
+    }
+
+    private static void assertContains(String source, String expected) {
+        assertTrue(source.contains(expected), () -> "생성 코드에 없음: " + expected + "\n" + source);
+    }
+}
@@ -0,0 +1,105 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팀 이동(changeTeam) 비교 - 컬렉션 미초기화 vs 양쪽 팀 members 컬렉션 초기화 후 이동
+ * - 인메모리 H2 로 컨텍스트를 띄우고 두 팀에 membersPerTeam 명씩 저장한 뒤, 한 트랜잭션에 회원 한 명을 반대편 팀으로 이동
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChangeTeamBenchmark {
+
+    @Param({"1000", "10000"})
+    private int membersPerTeam;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+    private Long teamAId;
+    private Long teamBId;
+    private Long memberId;
+
+    @Setup
+    public void setUp() {
+        // properties() 는 application.yml 보다 우선순위가 낮아 yml 값이 이기므로 실행 인자로 지정
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark"
+                        , "--spring.datasource.url=jdbc:h2:mem:change-team;DB_CLOSE_DELAY=-1"
+                        , "--member.warmup.enabled=false"
+                        , "--member.slow-query.enabled=false"
+                        , "--member.outbox.enabled=false"
+                        , "--logging.level.org.hibernate.SQL=warn");
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 0; i < membersPerTeam; i++) {
+                em.persist(new Member("memberA" + i, i % 80, teamA));
+                em.persist(new Member("memberB" + i, i % 80, teamB));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                    teamA = em.getReference(Team.class, teamA.getId());
+                    teamB = em.getReference(Team.class, teamB.getId());
+                }
+            }
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+        memberId = transactionTemplate.execute(status -> em
+                .createQuery("select min(m.id) from Member m", Long.class)
+                .getSingleResult());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void changeTeamUninitialized() {
+        transactionTemplate.executeWithoutResult(status -> move(false));
+    }
+
+    @Benchmark
+    public void changeTeamInitialized() {
+        transactionTemplate.executeWithoutResult(status -> move(true));
+    }
+
+    private void move(boolean initialize) {
+        Member member = em.find(Member.class, memberId);
+        Team target = em.getReference(Team.class, member.getTeam().getId().equals(teamAId) ? teamBId : teamAId);
+        if (initialize) {
+            Hibernate.initialize(member.getTeam().getMembers());
+            Hibernate.initialize(target.getMembers());
+        }
+        member.changeTeam(target);
+    }
+}
@@ -0,0 +1,87 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberParallelSearch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조건 없는 전체 검색 - 순차(MemberJpaRepository.search) vs member_id 구간 분할 병렬(MemberParallelSearch) 구간 수별 비교
+ * - 인메모리 H2 로 컨텍스트를 띄우고 members 명을 SQL(system_range)로 한 번에 저장
+ *   (같은 쿼리를 반복하므로 H2 결과 재사용(OPTIMIZE_REUSE_RESULTS)은 끔)
+ * - 병렬 스레드/커넥션 수는 구간 수 최댓값(8) 이상으로 지정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelSearchBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int partitions;
+
+    @Param({"200000"})
+    private int members;
+
+    @Param({"100"})
+    private int teams;
+
+    private ConfigurableApplicationContext context;
+    private MemberJpaRepository memberJpaRepository;
+    private MemberParallelSearch memberParallelSearch;
+    private final MemberSearchCondition condition = new MemberSearchCondition();
+
+    @Setup
+    public void setUp() {
+        // properties() 는 application.yml 보다 우선순위가 낮아 yml 값이 이기므로 실행 인자로 지정
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark"
+                        , "--spring.datasource.url=jdbc:h2:mem:parallel-search;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE"
+                        , "--spring.datasource.hikari.maximum-pool-size=10"
+                        , "--member.search.parallel.pool-size=8"
+                        , "--member.warmup.enabled=false"
+                        , "--member.slow-query.enabled=false"
+                        , "--member.outbox.enabled=false"
+                        , "--logging.level.org.hibernate.SQL=warn");
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        memberParallelSearch = context.getBean(MemberParallelSearch.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into team (team_id, name, change_version)"
+                + " select x, 'team' || x, 0 from system_range(1, ?)", teams);
+        jdbcTemplate.update("insert into member (member_id, username, username_lower, age, team_id, change_version)"
+                + " select x, 'member' || x, 'member' || x, mod(x, 80), mod(x, ?) + 1, 0 from system_range(1, ?)", teams, members);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> sequential() {
+        return memberJpaRepository.search(condition);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> parallel() {
+        return memberParallelSearch.search(condition, partitions);
+    }
+}
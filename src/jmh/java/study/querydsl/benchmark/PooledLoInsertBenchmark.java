@@ -0,0 +1,111 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.entity.Hello;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * member.sequence.allocation-size 별 INSERT 비교 - 실행된 SQL 수(statements)를 보조 지표로 함께 출력
+ * - H2 인메모리 DB 로 컨텍스트를 띄우고 한 트랜잭션에서 Hello 를 rows 건 저장
+ *   (database=tcp 는 같은 인메모리 DB 를 로컬 H2 TCP 서버로 접속 - SQL 마다 네트워크 왕복)
+ *   (Member 는 변경 버전 시퀀스를 건마다 호출하므로 채번/배치 차이만 보기 위해 리스너 없는 Hello 사용)
+ * - allocation-size 가 시퀀스 증가값(pooled-lo)과 JDBC 배치 크기를 같이 정하므로
+ *   allocationSize=1 이면 건마다 시퀀스 호출 + 배치 없음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PooledLoInsertBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    private int allocationSize;
+
+    @Param({"1000"})
+    private int rows;
+
+    @Param({"mem", "tcp"})
+    private String database;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    /**
+     * 반복(iteration) 동안 실행된 SQL 수
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // properties() 는 application.yml 보다 우선순위가 낮아 yml 값이 이기므로 실행 인자로 지정
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark"
+                        , "--spring.datasource.url=" + url()
+                        , "--spring.jpa.properties.hibernate.generate_statistics=true"
+                        , "--member.sequence.allocation-size=" + allocationSize
+                        , "--member.warmup.enabled=false"
+                        , "--member.slow-query.enabled=false"
+                        , "--member.outbox.enabled=false"
+                        , "--logging.level.org.hibernate.SQL=warn");
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private String url() {
+        String name = "mem:pooled-lo-insert-" + allocationSize + ";DB_CLOSE_DELAY=-1";
+        return "tcp".equals(database) ? "jdbc:h2:tcp://localhost/" + name : "jdbc:h2:" + name;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insert(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        Long lastId = transactionTemplate.execute(status -> {
+            Hello hello = null;
+            for (int i = 0; i < rows; i++) {
+                hello = new Hello();
+                em.persist(hello);
+            }
+            return hello.getId();
+        });
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        return lastId;
+    }
+}
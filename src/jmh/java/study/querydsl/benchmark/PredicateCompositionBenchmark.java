@@ -0,0 +1,129 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.QTeam;
+import study.querydsl.repository.support.MemberSearchPredicates;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동적 쿼리 작성 방식 비교
+ * - BooleanBuilder / null 허용 where 파라미터 / where 파라미터를 and() 로 합친 방식 / MemberSearchPredicates
+ * - 식 트리 생성과 JPQL 직렬화 비용을 16가지 조건 조합별로 측정
+ * - DB 실행을 포함한 end-to-end 측정은 LoadTestRunner(loadtest 프로필) 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PredicateCompositionBenchmark {
+
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15"})
+    private int shape;
+
+    private MemberSearchCondition condition;
+
+    @Setup
+    public void setUp() {
+        condition = new MemberSearchCondition();
+        if ((shape & 1) != 0) {
+            condition.setUsername("member1");
+        }
+        if ((shape & 2) != 0) {
+            condition.setTeamName("teamA");
+        }
+        if ((shape & 4) != 0) {
+            condition.setAgeGoe(10);
+        }
+        if ((shape & 8) != 0) {
+            condition.setAgeLoe(40);
+        }
+    }
+
+    @Benchmark
+    public Predicate buildBooleanBuilder() {
+        return booleanBuilder();
+    }
+
+    @Benchmark
+    public Predicate[] buildWhereParams() {
+        return MemberSearchPredicates.of(condition);
+    }
+
+    @Benchmark
+    public Predicate buildChainedAnd() {
+        return chainedAnd();
+    }
+
+    @Benchmark
+    public String serializeBooleanBuilder() {
+        return baseQuery().where(booleanBuilder()).toString();
+    }
+
+    @Benchmark
+    public String serializeWhereParams() {
+        return baseQuery().where(MemberSearchPredicates.of(condition)).toString();
+    }
+
+    @Benchmark
+    public String serializeChainedAnd() {
+        return baseQuery().where(chainedAnd()).toString();
+    }
+
+    private JPAQuery<?> baseQuery() {
+        return new JPAQuery<Void>()
+                .select(new QMemberTeamDto(
+                        QMember.member.id.as("memberId")
+                        , QMember.member.username
+                        , QMember.member.age
+                        , QTeam.team.id.as("teamId")
+                        , QTeam.team.name.as("teamName")
+                ))
+                .from(QMember.member)
+                .leftJoin(QMember.member.team, QTeam.team);
+    }
+
+    private BooleanBuilder booleanBuilder() {
+        BooleanBuilder builder = new BooleanBuilder();
+        if (condition.getUsername() != null) {
+            builder.and(QMember.member.username.eq(condition.getUsername()));
+        }
+        if (condition.getTeamName() != null) {
+            builder.and(QTeam.team.name.eq(condition.getTeamName()));
+        }
+        if (condition.getAgeGoe() != null) {
+            builder.and(QMember.member.age.goe(condition.getAgeGoe()));
+        }
+        if (condition.getAgeLoe() != null) {
+            builder.and(QMember.member.age.loe(condition.getAgeLoe()));
+        }
+        return builder;
+    }
+
+    /**
+     * QueryDslBasicTest.allEq 처럼 null 허용 식을 and() 로 연결
+     */
+    private Predicate chainedAnd() {
+        BooleanExpression result = null;
+        for (Predicate predicate : MemberSearchPredicates.of(condition)) {
+            if (predicate == null) {
+                continue;
+            }
+            result = result == null ? (BooleanExpression) predicate : result.and(predicate);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 2차 캐시 사용 여부에 따른 엔티티 조회 비교 - 실행된 SQL 수(statements)를 보조 지표로 함께 출력
+ * - 인메모리 H2 로 컨텍스트를 띄우고 teams 개 팀에 팀당 10명씩 저장
+ * - findMembersWithTeam: 회원을 id 로 조회하고 Member.team 을 로딩
+ * - findTeamMembers: 팀을 id 로 조회하고 Team.members 컬렉션을 로딩
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecondLevelCacheBenchmark {
+
+    private static final int MEMBERS_PER_TEAM = 10;
+
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    @Param({"100"})
+    private int teams;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private final List<Long> teamIds = new ArrayList<>();
+    private final List<Long> memberIds = new ArrayList<>();
+
+    /**
+     * 반복(iteration) 동안 실행된 SQL 수
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // properties() 는 application.yml 보다 우선순위가 낮아 yml 값이 이기므로 실행 인자로 지정
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark"
+                        , "--spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1"
+                        , "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache
+                        , "--spring.jpa.properties.hibernate.generate_statistics=true"
+                        , "--member.warmup.enabled=false"
+                        , "--member.slow-query.enabled=false"
+                        , "--member.outbox.enabled=false"
+                        , "--logging.level.org.hibernate.SQL=warn");
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < teams; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teamIds.add(team.getId());
+                for (int j = 0; j < MEMBERS_PER_TEAM; j++) {
+                    Member member = new Member("member" + i + "_" + j, j, team);
+                    em.persist(member);
+                    memberIds.add(member.getId());
+                }
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findMembersWithTeam(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        Integer loaded = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Long memberId : memberIds) {
+                count += em.find(Member.class, memberId).getTeam().getName().length();
+            }
+            return count;
+        });
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        return loaded;
+    }
+
+    @Benchmark
+    public int findTeamMembers(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        Integer loaded = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Long teamId : teamIds) {
+                List<Member> members = em.find(Team.class, teamId).getMembers();
+                count += new ArrayList<>(members).size();
+            }
+            return count;
+        });
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        return loaded;
+    }
+}
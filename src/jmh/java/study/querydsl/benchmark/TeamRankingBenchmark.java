@@ -0,0 +1,104 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRankingRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팀별 순위 조회 비교 - 윈도우 함수 네이티브 SQL vs 상관 서브쿼리
+ * - 인메모리 H2(로컬 샘플 데이터 없이)로 애플리케이션 컨텍스트를 띄우고 members 명을 teams 개 팀에 고르게 나눠 저장
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TeamRankingBenchmark {
+
+    @Param({"10000", "100000"})
+    private int members;
+
+    @Param({"100"})
+    private int teams;
+
+    private ConfigurableApplicationContext context;
+    private MemberRankingRepository memberRankingRepository;
+
+    @Setup
+    public void setUp() {
+        // properties() 는 application.yml 보다 우선순위가 낮아 yml 값이 이기므로 실행 인자로 지정
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark"
+                        , "--spring.datasource.url=jdbc:h2:mem:ranking;DB_CLOSE_DELAY=-1"
+                        , "--member.warmup.enabled=false"
+                        , "--member.slow-query.enabled=false"
+                        , "--logging.level.org.hibernate.SQL=warn");
+        memberRankingRepository = context.getBean(MemberRankingRepository.class);
+
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Random random = new Random(42);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Team> teamList = new ArrayList<>(teams);
+            for (int i = 0; i < teams; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teamList.add(team);
+            }
+            for (int i = 0; i < members; i++) {
+                em.persist(new Member("member" + i, random.nextInt(80), teamList.get(i % teams)));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                    teamList.replaceAll(team -> em.getReference(Team.class, team.getId()));
+                }
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> oldestPerTeamWindow() {
+        return memberRankingRepository.findOldestPerTeam(3);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> oldestPerTeamCorrelated() {
+        return memberRankingRepository.findOldestPerTeamCorrelated(3);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> aboveTeamAverageWindow() {
+        return memberRankingRepository.findAboveTeamAverage();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> aboveTeamAverageCorrelated() {
+        return memberRankingRepository.findAboveTeamAverageCorrelated();
+    }
+}
@@ -0,0 +1,107 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.QMember;
+import study.querydsl.repository.support.MemberSearchPredicates;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * username 대소문자 무시/접두어 검색 - username_lower 색인 vs lower(username) 함수 조건 비교
+ * - 파일 H2(build/jmh) 로 컨텍스트를 띄우고 rows 명을 SQL(system_range)로 저장 (username = 'Member' || id)
+ *   (같은 쿼리를 반복하므로 H2 결과 재사용(OPTIMIZE_REUSE_RESULTS)은 끔)
+ * - 색인 쪽은 MemberSearchCondition 의 usernamePrefix/usernameIgnoreCase 로 만든 조건식 그대로 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UsernameIndexBenchmark {
+
+    private static final int INSERT_CHUNK = 1_000_000;
+    private static final String PREFIX = "MEMBER123456";
+    private static final String USERNAME = "MEMBER1234567";
+
+    @Param({"10000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private MemberSearchCondition prefixCondition;
+    private MemberSearchCondition ignoreCaseCondition;
+
+    @Setup
+    public void setUp() {
+        // properties() 는 application.yml 보다 우선순위가 낮아 yml 값이 이기므로 실행 인자로 지정
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark"
+                        , "--spring.datasource.url=jdbc:h2:file:./build/jmh/username-index;OPTIMIZE_REUSE_RESULTS=FALSE"
+                        , "--member.warmup.enabled=false"
+                        , "--member.slow-query.enabled=false"
+                        , "--member.outbox.enabled=false"
+                        , "--logging.level.org.hibernate.SQL=warn");
+        queryFactory = context.getBean(JPAQueryFactory.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int from = 1; from <= rows; from += INSERT_CHUNK) {
+            jdbcTemplate.update("insert into member (member_id, username, username_lower, age, change_version)"
+                    + " select x, 'Member' || x, 'member' || x, mod(x, 80), 0 from system_range(?, ?)"
+                    , from, Math.min(from + INSERT_CHUNK - 1, rows));
+        }
+        jdbcTemplate.execute("analyze");
+
+        prefixCondition = new MemberSearchCondition();
+        prefixCondition.setUsernamePrefix(PREFIX);
+        ignoreCaseCondition = new MemberSearchCondition();
+        ignoreCaseCondition.setUsernameIgnoreCase(USERNAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> prefixIndexed() {
+        return queryFactory.select(QMember.member.id).from(QMember.member)
+                .where(MemberSearchPredicates.of(prefixCondition))
+                .fetch();
+    }
+
+    @Benchmark
+    public List<Long> prefixLowerFunction() {
+        return queryFactory.select(QMember.member.id).from(QMember.member)
+                .where(QMember.member.username.lower().startsWith(PREFIX.toLowerCase()))
+                .fetch();
+    }
+
+    @Benchmark
+    public List<Long> ignoreCaseIndexed() {
+        return queryFactory.select(QMember.member.id).from(QMember.member)
+                .where(MemberSearchPredicates.of(ignoreCaseCondition))
+                .fetch();
+    }
+
+    @Benchmark
+    public List<Long> ignoreCaseLowerFunction() {
+        return queryFactory.select(QMember.member.id).from(QMember.member)
+                .where(QMember.member.username.equalsIgnoreCase(USERNAME))
+                .fetch();
+    }
+}
@@ -3,19 +3,33 @@ package study.querydsl;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
+import study.querydsl.cache.MemberDataVersion;
+import study.querydsl.change.ChangeVersions;
+import study.querydsl.outbox.Outbox;
+import study.querydsl.repository.support.ChangeTrackingJPAQueryFactory;
 
 import javax.persistence.EntityManager;
 
-@SpringBootApplication
+// R2DBC ConnectionFactory 빈이 생기면 DataSource 자동 설정이 꺼지므로 제외 (MemberReactiveRepository 가 자체 풀 사용)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class QuerydslApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(QuerydslApplication.class, args);
+		SpringApplication application = new SpringApplication(QuerydslApplication.class);
+		// 기동 단계별 소요 시간 기록 (/actuator/startup)
+		application.setApplicationStartup(new BufferingApplicationStartup(2048));
+		application.run(args);
 	}
 
+	/**
+	 * 벌크 update/delete 에도 변경 버전(change feed)과 outbox 이벤트를 남기는 팩토리
+	 */
 	@Bean
-	JPAQueryFactory jpaQueryFactory(EntityManager em) {
-		return new JPAQueryFactory(em);
+	JPAQueryFactory jpaQueryFactory(EntityManager em, ChangeVersions changeVersions, Outbox outbox,
+									MemberDataVersion memberDataVersion) {
+		return new ChangeTrackingJPAQueryFactory(em, changeVersions, outbox, memberDataVersion);
 	}
 }
@@ -0,0 +1,27 @@
+package study.querydsl.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member/Team 엔티티 변경 시 데이터 버전 증가
+ * - 트랜잭션 커밋 이후에 증가시켜, 커밋 전 데이터가 새 버전으로 캐시되지 않도록 함
+ * - JPQL 벌크 연산은 엔티티 리스너를 거치지 않으므로 ChangeTrackingJPAQueryFactory 가 같은 방식으로 증가
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionListener {
+
+    private final MemberDataVersion memberDataVersion;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        memberDataVersion.bumpAfterCommit();
+    }
+}
@@ -0,0 +1,29 @@
+package study.querydsl.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.OutboxEvent;
+import study.querydsl.outbox.OutboxSubscriber;
+
+import java.util.List;
+
+/**
+ * 벌크 update/delete 이벤트 수신 시 username near-cache 전체 무효화
+ * - 엔티티 단위 변경은 MemberUsernameCacheListener 가 커밋 직후 처리하므로 벌크 이벤트만 처리
+ * - 데이터 버전(ETag)은 폴링을 기다리지 않도록 ChangeTrackingJPAQueryFactory 가 커밋 직후 증가
+ * - 재전달되어도 캐시가 한 번 더 비워질 뿐
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberCacheOutboxSubscriber implements OutboxSubscriber {
+
+    private final MemberUsernameCache memberUsernameCache;
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        if (events.stream().noneMatch(OutboxEvent::isBulk)) {
+            return;
+        }
+        memberUsernameCache.invalidateAll();
+    }
+}
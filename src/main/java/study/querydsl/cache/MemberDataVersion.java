@@ -0,0 +1,43 @@
+package study.querydsl.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Member/Team 데이터 버전
+ * - 쓰기가 커밋될 때마다 증가하며, 응답 캐시 키와 ETag 로 사용
+ * - 재시작 시 이전 ETag 와 겹치지 않도록 기동 시각으로 초기화
+ */
+@Component
+public class MemberDataVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    public long bump() {
+        return version.incrementAndGet();
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 이후에 증가 (트랜잭션 밖이면 바로)
+     * - 커밋 전 데이터가 새 버전으로 캐시되지 않도록 함
+     */
+    public void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package study.querydsl.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 직렬화가 끝난 검색 결과(JSON byte[]) 캐시
+ * - 키: 데이터 버전 + 검색 조건 + 페이지 정보
+ * - 데이터 버전이 바뀌면 이전 키는 조회되지 않고 LRU 로 밀려남
+ */
+@Component
+public class MemberPageResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, byte[]> cache;
+
+    public MemberPageResponseCache(ObjectMapper objectMapper,
+                                   @Value("${member.response-cache.max-entries:1000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.cache = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public byte[] get(long version, MemberSearchCondition condition, Pageable pageable, Supplier<?> loader) {
+        String key = version + ":" + condition + ":" + pageable;
+        synchronized (cache) {
+            byte[] cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        byte[] body = serialize(loader.get());
+        synchronized (cache) {
+            cache.put(key, body);
+        }
+        return body;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("검색 결과 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package study.querydsl.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * username -> 회원 id 목록 near-cache
+ * - Caffeine(W-TinyLFU) 로 자주 조회되는 username 을 우선 유지
+ * - 영속 엔티티가 아닌 id 만 보관하여 영속성 컨텍스트와 무관하게 공유
+ * - 조회 결과가 없는 username 은 짧은 TTL 로 캐시 (negative caching)
+ * - 무효화는 MemberUsernameCacheListener 에서 처리
+ * - 쓰기 트랜잭션 안에서는 커밋되지 않은 변경이 보여야 하므로 캐시를 거치지 않고 조회
+ * - 엔티티 리스너가 EntityManagerFactory 생성 중에 만들어지므로 리포지토리는 ObjectProvider 로 지연 조회
+ */
+@Component
+public class MemberUsernameCache {
+
+    private final ObjectProvider<MemberJpaRepository> memberJpaRepository;
+    private final LoadingCache<String, List<Long>> cache;
+
+    public MemberUsernameCache(ObjectProvider<MemberJpaRepository> memberJpaRepository,
+                               @Value("${member.username-cache.maximum-size:100000}") long maximumSize,
+                               @Value("${member.username-cache.ttl-seconds:600}") long ttlSeconds,
+                               @Value("${member.username-cache.negative-ttl-seconds:5}") long negativeTtlSeconds) {
+        this.memberJpaRepository = memberJpaRepository;
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, List<Long>>() {
+                    @Override
+                    public long expireAfterCreate(String key, List<Long> value, long currentTime) {
+                        return value.isEmpty() ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, List<Long> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, List<Long> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build(username -> memberJpaRepository.getObject().findIdsByUsername(username));
+    }
+
+    public List<Long> findIdsByUsername(String username) {
+        if (username == null) {
+            return Collections.emptyList();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return memberJpaRepository.getObject().findIdsByUsername(username);
+        }
+        return cache.get(username);
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
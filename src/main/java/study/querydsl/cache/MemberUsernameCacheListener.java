@@ -0,0 +1,57 @@
+package study.querydsl.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.Objects;
+
+/**
+ * Member 변경 시 username near-cache 무효화 (커밋 이후)
+ * - 저장: 해당 username 의 negative 캐시 제거
+ * - 수정/삭제: 로딩 시점의 username(Member.loadedUsername) 과 현재 username 만 무효화
+ * - 캐시는 id 만 보관하므로 팀 변경은 무효화 대상이 아님
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberUsernameCacheListener {
+
+    private final MemberUsernameCache memberUsernameCache;
+
+    @PostPersist
+    public void onPersist(Member member) {
+        String username = member.getUsername();
+        afterCommit(() -> memberUsernameCache.invalidate(username));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Member member) {
+        String oldUsername = member.getLoadedUsername();
+        String newUsername = member.getUsername();
+        afterCommit(() -> {
+            memberUsernameCache.invalidate(oldUsername);
+            if (!Objects.equals(oldUsername, newUsername)) {
+                memberUsernameCache.invalidate(newUsername);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
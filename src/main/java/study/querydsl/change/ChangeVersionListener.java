@@ -0,0 +1,39 @@
+package study.querydsl.change;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.ChangeVersioned;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+import javax.persistence.PreUpdate;
+import java.util.Collections;
+import java.util.Locale;
+
+/**
+ * Member/Team 쓰기마다 트랜잭션의 변경 버전 기록, 삭제 시 tombstone 저장
+ * - 벌크 update/delete 는 ChangeTrackingJPAQueryFactory 에서 처리
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeVersionListener {
+
+    private final ChangeVersions changeVersions;
+
+    @PrePersist
+    @PreUpdate
+    public void onSave(Object entity) {
+        ((ChangeVersioned) entity).setChangeVersion(changeVersions.next());
+    }
+
+    @PreRemove
+    public void onRemove(Object entity) {
+        ChangeVersioned versioned = (ChangeVersioned) entity;
+        changeVersions.tombstone(entityType(Hibernate.getClass(entity)), Collections.singletonList(versioned.getId()));
+    }
+
+    public static String entityType(Class<?> entityClass) {
+        return entityClass.getSimpleName().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,133 @@
+package study.querydsl.change;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.ChangeTombstone;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 변경 버전 발급 (change_seq)
+ * - 트랜잭션마다 첫 쓰기에서 한 번만 발급하고 같은 트랜잭션의 모든 쓰기/tombstone 이 같은 버전을 사용
+ *   (트랜잭션 밖에서는 호출마다 발급)
+ * - 엔티티 콜백/벌크 연산 중에도 쓸 수 있도록 JdbcTemplate 으로 시퀀스 조회/tombstone insert
+ *   (JpaTransactionManager 가 같은 커넥션을 바인딩하므로 같은 트랜잭션에 포함됨)
+ * - 버전은 발급 순서대로 증가하지만 커밋 순서는 다를 수 있으므로, 아직 커밋/롤백되지 않은 버전을 추적해
+ *   변경 피드는 그보다 작은 버전까지만 반환 (safeUpperBound)
+ * - 미완료 버전 추적은 이 JVM 안에서만 유효 (여러 인스턴스가 같은 DB 에 쓰면 클라이언트가 겹쳐 읽어야 함)
+ */
+@Component
+public class ChangeVersions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    // 발급(시퀀스 조회 + 미완료 등록)과 상한 계산이 엇갈리지 않도록 하는 잠금
+    private final ReadWriteLock allocation = new ReentrantReadWriteLock();
+    private volatile String nextValueSql;
+    private volatile String tombstoneInsertSql;
+
+    public ChangeVersions(JdbcTemplate jdbcTemplate, ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public long next() {
+        Object transaction = currentTransaction();
+        if (transaction == null) {
+            return jdbcTemplate.queryForObject(nextValueSql(), Long.class);
+        }
+        Long current = (Long) TransactionSynchronizationManager.getResource(transaction);
+        if (current != null) {
+            return current;
+        }
+        allocation.readLock().lock();
+        try {
+            Long version = jdbcTemplate.queryForObject(nextValueSql(), Long.class);
+            inFlight.add(version);
+            TransactionSynchronizationManager.bindResource(transaction, version);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(transaction);
+                    inFlight.remove(version);
+                }
+            });
+            return version;
+        } finally {
+            allocation.readLock().unlock();
+        }
+    }
+
+    /**
+     * 변경 피드가 안전하게 반환할 수 있는 최대 버전 (미완료 버전이 없으면 Long.MAX_VALUE)
+     */
+    public long safeUpperBound() {
+        allocation.writeLock().lock();
+        try {
+            return inFlight.isEmpty() ? Long.MAX_VALUE : inFlight.first() - 1;
+        } finally {
+            allocation.writeLock().unlock();
+        }
+    }
+
+    public void tombstone(String entityType, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long version = next();
+        Timestamp deletedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            rows.add(new Object[]{version, entityType, id, deletedAt});
+        }
+        jdbcTemplate.batchUpdate(tombstoneInsertSql(), rows);
+    }
+
+    /**
+     * 현재 트랜잭션을 나타내는 키 (트랜잭션에 바인딩된 EntityManagerHolder, 없으면 null)
+     * - REQUIRES_NEW 로 중단된 바깥 트랜잭션과 키가 달라 버전이 섞이지 않음
+     */
+    private Object currentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return TransactionSynchronizationManager.getResource(entityManagerFactory.getObject());
+    }
+
+    private String nextValueSql() {
+        String sql = nextValueSql;
+        if (sql == null) {
+            sql = dialect().getSequenceNextValString(ChangeTombstone.SEQUENCE);
+            nextValueSql = sql;
+        }
+        return sql;
+    }
+
+    private String tombstoneInsertSql() {
+        String sql = tombstoneInsertSql;
+        if (sql == null) {
+            sql = "insert into change_tombstone (change_tombstone_id, change_version, entity_type, entity_id, deleted_at)"
+                    + " values (" + dialect().getSelectSequenceNextValString(ChangeTombstone.SEQUENCE) + ", ?, ?, ?, ?)";
+            tombstoneInsertSql = sql;
+        }
+        return sql;
+    }
+
+    private Dialect dialect() {
+        return entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+}
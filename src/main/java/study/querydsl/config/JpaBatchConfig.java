@@ -0,0 +1,25 @@
+package study.querydsl.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.entity.Sequences;
+
+/**
+ * 시퀀스 allocationSize 와 JDBC INSERT 배치 크기를 member.sequence.allocation-size 하나로 지정
+ * - yml 에 따로 적으면 두 값이 어긋날 수 있으므로 batch_size 는 항상 이 값에서 유도
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchSizeCustomizer(
+            @Value("${member.sequence.allocation-size:" + Sequences.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        return properties -> {
+            properties.put(Sequences.ALLOCATION_SIZE_SETTING, allocationSize);
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, allocationSize);
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package study.querydsl.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchConditionPredicates;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 검색 쿼리 워밍업
+ * - MemberSearchCondition 의 조건 조합(생성된 MemberSearchConditionPredicates 의 shape) x 페이지 유형을 페이징 쿼리로 실행하여
+ *   HQL 쿼리 플랜 캐시와 JIT 를 미리 채움
+ * - 전체 조합(2^필드 수)은 제한 시간 안에 끝나지 않으므로 조건 필드 수가 적은 조합부터 max-shapes 개만 실행
+ * - 각 실행은 롤백되며, 제한 시간을 넘기면 남은 조합은 건너뜀
+ * - 완료 전까지 readiness 그룹에서 OUT_OF_SERVICE, 완료 시 UP
+ * - 실패 시 OUT_OF_SERVICE 유지(준비되지 않음), 제한 시간 초과 시 member.warmup.timeout-status (기본 OUT_OF_SERVICE)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.warmup.enabled", havingValue = "true")
+public class MemberQueryWarmUp implements HealthIndicator {
+
+    private static final List<Pageable> PAGEABLES = Arrays.asList(PageRequest.of(0, 20), PageRequest.of(5, 20));
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final long timeoutMillis;
+    private final int iterations;
+    private final int[] shapes;
+    private final Status timeoutStatus;
+    private volatile Health status = Health.outOfService().build();
+    private final CompletableFuture<Health> completion = new CompletableFuture<>();
+
+    public MemberQueryWarmUp(MemberRepository memberRepository,
+                             PlatformTransactionManager transactionManager,
+                             TaskExecutor taskExecutor,
+                             @Value("${member.warmup.timeout-millis:30000}") long timeoutMillis,
+                             @Value("${member.warmup.iterations:5}") int iterations,
+                             @Value("${member.warmup.max-shapes:64}") int maxShapes,
+                             @Value("${member.warmup.timeout-status:OUT_OF_SERVICE}") String timeoutStatus) {
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.timeoutMillis = timeoutMillis;
+        this.iterations = iterations;
+        this.shapes = shapes(maxShapes);
+        this.timeoutStatus = new Status(timeoutStatus);
+    }
+
+    /**
+     * 조건 필드 수가 적은 조합부터 (자주 쓰이는 단순 조건 우선) 최대 maxShapes 개
+     */
+    static int[] shapes(int maxShapes) {
+        return IntStream.range(0, MemberSearchConditionPredicates.SHAPE_COUNT)
+                .boxed()
+                .sorted(Comparator.comparingInt(Integer::bitCount).thenComparingInt(shape -> shape))
+                .limit(Math.max(maxShapes, 0))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        taskExecutor.execute(() -> {
+            try {
+                run();
+            } finally {
+                completion.complete(status);
+            }
+        });
+    }
+
+    /**
+     * 워밍업이 끝나면 최종 상태로 완료 (UP 이 아닐 수 있음)
+     */
+    public CompletableFuture<Health> completion() {
+        return completion;
+    }
+
+    private void run() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        report.put("shapes", shapes.length + "/" + MemberSearchConditionPredicates.SHAPE_COUNT);
+
+        try {
+            for (int done = 0; done < shapes.length; done++) {
+                int shape = shapes[done];
+                MemberSearchCondition condition = MemberSearchConditionPredicates.sample(shape);
+                for (Pageable pageable : PAGEABLES) {
+                    if (System.nanoTime() > deadline) {
+                        log.warn("쿼리 워밍업 제한 시간 초과 - 남은 조합 생략 ({}/{}) -> {}"
+                                , done, shapes.length, timeoutStatus);
+                        report.put("timeout", true);
+                        report.put("skippedShapes", shapes.length - done);
+                        status = Health.status(timeoutStatus).withDetails(report).build();
+                        return;
+                    }
+
+                    long first = execute(condition, pageable);
+                    long steady = Long.MAX_VALUE;
+                    for (int i = 0; i < iterations; i++) {
+                        steady = Math.min(steady, execute(condition, pageable));
+                    }
+
+                    String key = MemberSearchConditionPredicates.shapeKey(shape) + "/page" + pageable.getPageNumber();
+                    String latency = "first=" + TimeUnit.NANOSECONDS.toMicros(first) + "us, steady="
+                            + TimeUnit.NANOSECONDS.toMicros(steady) + "us";
+                    report.put(key, latency);
+                    log.info("쿼리 워밍업 {} {}", key, latency);
+                }
+            }
+            status = Health.up().withDetails(report).build();
+        } catch (RuntimeException e) {
+            log.error("쿼리 워밍업 실패", e);
+            status = Health.outOfService().withDetails(report).withDetail("error", String.valueOf(e.getMessage())).build();
+        }
+    }
+
+    private long execute(MemberSearchCondition condition, Pageable pageable) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(tx -> {
+            memberRepository.searchPageSimple(condition, pageable);
+            memberRepository.searchPageComplexOpt(condition, pageable);
+            tx.setRollbackOnly();
+        });
+        return System.nanoTime() - start;
+    }
+
+    @Override
+    public Health health() {
+        return status;
+    }
+}
@@ -0,0 +1,63 @@
+package study.querydsl.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 회원 검색 전용 실행기
+ * - 커넥션 풀 크기만큼의 스레드로 DB 조회를 실행하여 서블릿 스레드를 점유하지 않음
+ *   (member.search.async.pool-size 가 없으면 spring.datasource.hikari.maximum-pool-size 를 따름)
+ * - 대기 큐가 가득 차면 TaskRejectedException 발생 (503 응답으로 변환)
+ * - Executor 타입 빈으로 등록하지 않아 스프링 기본 applicationTaskExecutor 에 영향을 주지 않음
+ */
+@Component
+public class MemberSearchExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer queueWaitTimer;
+    private final Timer executionTimer;
+
+    public MemberSearchExecutor(MeterRegistry meterRegistry,
+                                @Value("${member.search.async.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+                                @Value("${member.search.async.queue-capacity:100}") int queueCapacity) {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("member-search-");
+        this.executor.setWaitForTasksToCompleteOnShutdown(true);
+        this.executor.initialize();
+
+        this.queueWaitTimer = Timer.builder("member.search.queue.wait").register(meterRegistry);
+        this.executionTimer = Timer.builder("member.search.execution").register(meterRegistry);
+        Gauge.builder("member.search.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            long startedAt = System.nanoTime();
+            queueWaitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.get();
+            } finally {
+                executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }, executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,15 @@
+package study.querydsl.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업(OutboxPoller 등) 실행
+ * - member.scheduling.enabled=false 면 스케줄러 없이 빈만 등록 (테스트에서 poll 을 직접 호출)
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "member.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
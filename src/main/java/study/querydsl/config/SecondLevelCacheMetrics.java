@@ -0,0 +1,50 @@
+package study.querydsl.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.ToLongFunction;
+
+/**
+ * 2차 캐시 리전별 hit/miss/put 과 실행된 SQL 수를 메트릭으로 노출
+ * - hibernate.generate_statistics 가 켜져 있어야 값이 수집됨
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            Tags tags = Tags.of("region", region);
+            FunctionCounter.builder("jpa.l2cache.hits", statistics
+                    , s -> regionStatistic(s, region, CacheRegionStatistics::getHitCount)).tags(tags).register(registry);
+            FunctionCounter.builder("jpa.l2cache.misses", statistics
+                    , s -> regionStatistic(s, region, CacheRegionStatistics::getMissCount)).tags(tags).register(registry);
+            FunctionCounter.builder("jpa.l2cache.puts", statistics
+                    , s -> regionStatistic(s, region, CacheRegionStatistics::getPutCount)).tags(tags).register(registry);
+        }
+
+        FunctionCounter.builder("jpa.statements", statistics, Statistics::getPrepareStatementCount)
+                .description("DB 로 전송된 SQL 수")
+                .register(registry);
+    }
+
+    private static double regionStatistic(Statistics statistics, String region,
+                                          ToLongFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        return regionStatistics == null ? 0 : value.applyAsLong(regionStatistics);
+    }
+}
@@ -0,0 +1,38 @@
+package study.querydsl.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource 를 datasource-proxy 로 감싸 SQL 실행 시간 측정
+ */
+@Component
+@ConditionalOnProperty(name = "member.slow-query.enabled", havingValue = "true")
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+
+        SlowQueryLog log = slowQueryLog.getObject();
+        log.setExplainDataSource((DataSource) bean);
+        return ProxyDataSourceBuilder.create((DataSource) bean)
+                .name(beanName)
+                .listener(new SlowQueryListener(log))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package study.querydsl.config;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import study.querydsl.repository.support.QueryEvents;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 실행 시간이 임계값을 넘은 SQL 을 SlowQueryLog 로 전달
+ * - 조회 쿼리의 결과 건수는 ResultSet 을 소비하지 않으므로 -1 로 기록
+ */
+@RequiredArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < slowQueryLog.getThresholdMillis()) {
+            return;
+        }
+
+        String origin = QueryEvents.currentOrigin();
+        long rows = rowsOf(execInfo.getResult());
+        for (QueryInfo queryInfo : queryInfoList) {
+            slowQueryLog.offer(new SlowQueryLog.SlowQuery(
+                    queryInfo.getQuery()
+                    , parametersOf(queryInfo)
+                    , execInfo.getElapsedTime()
+                    , rows
+                    , origin));
+        }
+    }
+
+    private List<Object> parametersOf(QueryInfo queryInfo) {
+        List<Object> parameters = new ArrayList<>();
+        if (queryInfo.getParametersList().isEmpty()) {
+            return parameters;
+        }
+
+        // 배치 실행인 경우 첫 번째 파라미터 묶음만 기록
+        List<ParameterSetOperation> operations = new ArrayList<>(queryInfo.getParametersList().get(0));
+        operations.sort(Comparator.comparingInt(operation ->
+                operation.getArgs()[0] instanceof Integer ? (Integer) operation.getArgs()[0] : 0));
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            parameters.add(args.length > 1 ? args[1] : null);
+        }
+        return parameters;
+    }
+
+    private long rowsOf(Object result) {
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        if (result instanceof int[]) {
+            long sum = 0;
+            for (int count : (int[]) result) {
+                sum += count;
+            }
+            return sum;
+        }
+        return -1;
+    }
+}
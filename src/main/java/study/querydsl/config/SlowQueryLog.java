@@ -0,0 +1,139 @@
+package study.querydsl.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 슬로우 쿼리 로그
+ * - 요청 스레드는 고정 크기 버퍼에 넣기만 하고, 로그 출력과 EXPLAIN 은 별도 스레드에서 처리
+ * - 버퍼가 가득 차면 기록을 버리고 버린 건수만 집계 (요청 스레드는 절대 대기하지 않음)
+ * - 기록 스레드는 빈 초기화가 끝난 뒤(@PostConstruct) 시작
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.slow-query.enabled", havingValue = "true")
+public class SlowQueryLog {
+
+    private final BlockingQueue<SlowQuery> buffer;
+    private final long thresholdMillis;
+    private final boolean redactParameters;
+    private final boolean explain;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile DataSource explainDataSource;
+
+    public SlowQueryLog(@Value("${member.slow-query.threshold-millis:200}") long thresholdMillis,
+                        @Value("${member.slow-query.redact-parameters:false}") boolean redactParameters,
+                        @Value("${member.slow-query.explain:false}") boolean explain,
+                        @Value("${member.slow-query.buffer-size:1024}") int bufferSize) {
+        this.thresholdMillis = thresholdMillis;
+        this.redactParameters = redactParameters;
+        this.explain = explain;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.writer = new Thread(this::runWriter, "slow-query-log");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    /**
+     * EXPLAIN 실행용 원본 DataSource (프록시를 거치지 않음)
+     */
+    void setExplainDataSource(DataSource explainDataSource) {
+        this.explainDataSource = explainDataSource;
+    }
+
+    void offer(SlowQuery slowQuery) {
+        if (!buffer.offer(slowQuery)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    private void runWriter() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                write(buffer.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("슬로우 쿼리 로그 기록 실패", e);
+            }
+        }
+    }
+
+    private void write(SlowQuery slowQuery) {
+        long droppedCount = dropped.getAndSet(0);
+        log.warn("slow query {}ms rows={} origin={} sql={} params={}{}"
+                , slowQuery.elapsedMillis
+                , slowQuery.rows
+                , slowQuery.origin
+                , slowQuery.sql
+                , redactParameters ? "[redacted]" : slowQuery.parameters
+                , droppedCount > 0 ? " (dropped " + droppedCount + ")" : "");
+
+        if (explain && explainDataSource != null && slowQuery.sql.trim().toLowerCase().startsWith("select")) {
+            log.warn("slow query plan origin={}\n{}", slowQuery.origin, explain(slowQuery));
+        }
+    }
+
+    private String explain(SlowQuery slowQuery) {
+        try (Connection connection = explainDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + slowQuery.sql)) {
+            for (int i = 0; i < slowQuery.parameters.size(); i++) {
+                statement.setObject(i + 1, slowQuery.parameters.get(i));
+            }
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "EXPLAIN 실패: " + e.getMessage();
+        }
+    }
+
+    static class SlowQuery {
+        private final String sql;
+        private final List<Object> parameters;
+        private final long elapsedMillis;
+        private final long rows;
+        private final String origin;
+
+        SlowQuery(String sql, List<Object> parameters, long elapsedMillis, long rows, String origin) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.elapsedMillis = elapsedMillis;
+            this.rows = rows;
+            this.origin = origin;
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package study.querydsl.controller;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
-import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+/**
+ * 로컬 샘플 데이터 적재
+ * - 기동 스레드를 막지 않도록 ApplicationReadyEvent 이후 백그라운드에서 실행
+ * - 적재가 끝나기 전까지 readiness 그룹에서 OUT_OF_SERVICE 로 보고
+ */
+@Slf4j
 @Profile("local")
 @Component
 @RequiredArgsConstructor
-public class InitMember {
+public class InitMember implements HealthIndicator {
 
     private final InitMemberService initMemberService;
+    private final TaskExecutor taskExecutor;
+    private volatile Health status = Health.outOfService().build();
 
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
-        initMemberService.init();
+        taskExecutor.execute(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                initMemberService.init();
+                status = Health.up().build();
+                log.info("샘플 데이터 적재 완료 ({}ms)", System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                status = Health.down(e).build();
+                log.error("샘플 데이터 적재 실패", e);
+            }
+        });
+    }
+
+    @Override
+    public Health health() {
+        return status;
     }
 
     @Component
@@ -0,0 +1,58 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.config.MemberSearchExecutor;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 비동기 회원 검색
+ * - 조회는 MemberSearchExecutor 에서 실행되고, 서블릿 스레드는 즉시 반환
+ */
+@RestController
+@RequiredArgsConstructor
+public class MemberAsyncController {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberRepository memberRepository;
+    private final MemberSearchExecutor memberSearchExecutor;
+
+    @GetMapping("/v1/members/async")
+    public CompletableFuture<List<MemberTeamDto>> searchMemberV1(MemberSearchCondition condition) {
+        return memberSearchExecutor.submit(() -> memberJpaRepository.search(condition));
+    }
+
+    @GetMapping("/v2/members/async")
+    public CompletableFuture<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+        return memberSearchExecutor.submit(() -> memberRepository.searchPageSimple(condition, pageable));
+    }
+
+    @GetMapping("/v3/members/async")
+    public CompletableFuture<Page<MemberTeamDto>> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
+        return memberSearchExecutor.submit(() -> memberRepository.searchPageComplexOpt(condition, pageable));
+    }
+
+    /**
+     * 대기 큐 초과 시 부하 차단
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> rejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
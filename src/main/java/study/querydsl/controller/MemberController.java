@@ -3,11 +3,28 @@ package study.querydsl.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import study.querydsl.cache.MemberDataVersion;
+import study.querydsl.cache.MemberPageResponseCache;
+import study.querydsl.dto.AgeBracketCountDto;
+import study.querydsl.dto.MemberChangeFeedDto;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberChangeFeedRepository;
 import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberParallelSearch;
+import study.querydsl.repository.MemberRankingRepository;
+import study.querydsl.repository.MemberReactiveRepository;
 import study.querydsl.repository.MemberRepository;
 
 import java.util.List;
@@ -16,8 +33,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_BATCH_CONDITIONS = 50;
+    private static final int MAX_RANKING_LIMIT = 100;
+    private static final int MAX_CHANGES_LIMIT = 1000;
+    private static final int MAX_EXPORT_PARTITIONS = 16;
+
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final MemberRankingRepository memberRankingRepository;
+    private final MemberChangeFeedRepository memberChangeFeedRepository;
+    private final MemberReactiveRepository memberReactiveRepository;
+    private final MemberDataVersion memberDataVersion;
+    private final MemberPageResponseCache memberPageResponseCache;
+    private final MemberParallelSearch memberParallelSearch;
 
     @GetMapping("/v1/members")
     public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
@@ -29,8 +57,97 @@ public class MemberController {
         return memberRepository.searchPageSimple(condition, pageable);
     }
 
+    /**
+     * 직렬화된 응답 캐시 + ETag
+     * - If-None-Match 가 현재 데이터 버전과 같으면 DB 조회/직렬화 없이 304 반환
+     */
     @GetMapping("/v3/members")
-    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageComplexOpt(condition, pageable);
+    public ResponseEntity<byte[]> searchMemberV3(MemberSearchCondition condition, Pageable pageable, WebRequest request) {
+        long version = memberDataVersion.current();
+        String eTag = "\"" + version + "\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        byte[] body = memberPageResponseCache.get(version, condition, pageable
+                , () -> memberRepository.searchPageComplexOpt(condition, pageable));
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * R2DBC 검색 결과를 NDJSON 으로 스트리밍 (v1 과 같은 검색 조건)
+     * - 요청 스레드는 바로 반환되고, 응답 쓰기가 끝난 만큼만 DB 에서 다음 행을 요청
+     */
+    @GetMapping(value = "/members/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberTeamDto> streamMembers(MemberSearchCondition condition) {
+        return memberReactiveRepository.search(condition);
+    }
+
+    /**
+     * 여러 검색 조건을 한 번의 요청으로 처리
+     */
+    @PostMapping("/members/search:batch")
+    public List<List<MemberTeamDto>> searchMemberBatch(@RequestBody List<MemberSearchCondition> conditions) {
+        if (conditions.size() > MAX_BATCH_CONDITIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "검색 조건은 최대 " + MAX_BATCH_CONDITIONS + "개까지 허용");
+        }
+        return memberRepository.searchBatch(conditions);
+    }
+
+    /**
+     * 대량 export - member_id 범위를 partitions 개로 나누어 병렬 조회, id 순 반환
+     */
+    @GetMapping("/members/export")
+    public List<MemberTeamDto> exportMembers(MemberSearchCondition condition,
+                                             @RequestParam(defaultValue = "4") int partitions) {
+        if (partitions < 1 || partitions > MAX_EXPORT_PARTITIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "partitions 는 1 ~ " + MAX_EXPORT_PARTITIONS + " 사이");
+        }
+        return memberParallelSearch.search(condition, partitions);
+    }
+
+    /**
+     * 나이 구간별 회원 수 (검색 조건 적용)
+     */
+    @GetMapping("/members/age-brackets")
+    public List<AgeBracketCountDto> countByAgeBracket(MemberSearchCondition condition) {
+        return memberRepository.countByAgeBracket(condition);
+    }
+
+    /**
+     * 팀별 나이가 많은 순 상위 N 명
+     */
+    @GetMapping("/members/ranking/oldest")
+    public List<MemberTeamDto> oldestPerTeam(@RequestParam(defaultValue = "3") int limit) {
+        if (limit < 1 || limit > MAX_RANKING_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit 은 1 ~ " + MAX_RANKING_LIMIT + " 사이");
+        }
+        return memberRankingRepository.findOldestPerTeam(limit);
+    }
+
+    /**
+     * 소속 팀 평균 나이보다 많은 회원
+     */
+    @GetMapping("/members/ranking/above-team-average")
+    public List<MemberTeamDto> aboveTeamAverage() {
+        return memberRankingRepository.findAboveTeamAverage();
+    }
+
+    /**
+     * 변경 피드 - since 버전(과 afterType, afterId) 이후의 회원/팀 변경과 삭제를 버전 순으로 반환
+     * - 응답의 nextSince, nextAfterType, nextAfterId 를 다음 요청에 사용
+     */
+    @GetMapping("/members/changes")
+    public MemberChangeFeedDto changes(@RequestParam(defaultValue = "0") long since,
+                                       @RequestParam(defaultValue = "") String afterType,
+                                       @RequestParam(defaultValue = "0") long afterId,
+                                       @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit 은 1 ~ " + MAX_CHANGES_LIMIT + " 사이");
+        }
+        return memberChangeFeedRepository.findChanges(since, afterType, afterId, limit);
     }
 }
@@ -0,0 +1,20 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+import study.querydsl.entity.AgeBracket;
+
+@Data
+public class AgeBracketCountDto {
+
+    private AgeBracket ageBracket;
+    private String label;
+    private long count;
+
+    @QueryProjection
+    public AgeBracketCountDto(AgeBracket ageBracket, long count) {
+        this.ageBracket = ageBracket;
+        this.label = ageBracket != null ? ageBracket.getLabel() : null;
+        this.count = count;
+    }
+}
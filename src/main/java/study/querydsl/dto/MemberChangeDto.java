@@ -0,0 +1,21 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 변경 피드 항목
+ * - entityType: MEMBER / TEAM
+ * - deleted 이면 member/teamName 없이 id 만 전달
+ */
+@Data
+@AllArgsConstructor
+public class MemberChangeDto {
+
+    private long version;
+    private String entityType;
+    private Long id;
+    private boolean deleted;
+    private MemberTeamDto member;
+    private String teamName;
+}
@@ -0,0 +1,21 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 변경 피드 응답
+ * - 다음 요청에 nextSince/nextAfterType/nextAfterId 를 그대로 넘기면 이어서 조회 (한 트랜잭션의 변경은 모두 같은 버전)
+ */
+@Data
+@AllArgsConstructor
+public class MemberChangeFeedDto {
+
+    private List<MemberChangeDto> changes;
+    private long nextSince;
+    private String nextAfterType;
+    private long nextAfterId;
+    private boolean hasMore;
+}
@@ -1,12 +1,39 @@
 package study.querydsl.dto;
 
 import lombok.Data;
+import study.querydsl.entity.AgeBracket;
+import study.querydsl.entity.Member;
+import study.querydsl.search.Contains;
+import study.querydsl.search.Eq;
+import study.querydsl.search.Goe;
+import study.querydsl.search.Loe;
+import study.querydsl.search.SearchCondition;
+import study.querydsl.search.StartsWith;
 
+/**
+ * 검색 조건 -> MemberSearchConditionPredicates 로 where 조건 생성 (search-processor)
+ */
 @Data
+@SearchCondition(root = Member.class)
 public class MemberSearchCondition {
     // 회원명, 팀명, 나이(ageGoe, ageLoe)
+    @Eq("username")
     private String username;
+    @Eq("team.name")
     private String teamName;
+    @Goe("age")
     private Integer ageGoe;
+    @Loe("age")
     private Integer ageLoe;
+    // 대소문자 무시 일치, 접두어 일치 (username_lower 인덱스 사용)
+    @Eq(value = "usernameLower", lowerCase = true)
+    private String usernameIgnoreCase;
+    @StartsWith(value = "usernameLower", lowerCase = true)
+    private String usernamePrefix;
+    // 부분 일치 (member.trigram.enabled 이면 trigram 색인으로 후보 id 를 좁힘)
+    @Contains(value = "usernameLower", lowerCase = true)
+    private String usernameContains;
+    // 나이 구간 (age_bracket 인덱스 사용)
+    @Eq("ageBracket")
+    private AgeBracket ageBracket;
 }
@@ -0,0 +1,43 @@
+package study.querydsl.entity;
+
+/**
+ * 나이 구간 (Member.ageBracket 컬럼에 이름으로 저장)
+ * - 조회 시점의 CaseBuilder 분류 대신 저장 시점에 계산해 두고 인덱스로 필터/집계
+ */
+public enum AgeBracket {
+    AGE_0_20(Integer.MIN_VALUE, 20, "0~20살"),
+    AGE_21_30(21, 30, "21~30살"),
+    AGE_31_40(31, 40, "31~40살"),
+    AGE_41_OVER(41, Integer.MAX_VALUE, "41살 이상");
+
+    private final int min;
+    private final int max;
+    private final String label;
+
+    AgeBracket(int min, int max, String label) {
+        this.min = min;
+        this.max = max;
+        this.label = label;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static AgeBracket of(int age) {
+        for (AgeBracket bracket : values()) {
+            if (age <= bracket.max) {
+                return bracket;
+            }
+        }
+        return AGE_41_OVER;
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 삭제된 Member/Team 기록 (변경 피드용)
+ * - change_seq 시퀀스의 소유 엔티티, 행은 ChangeVersions 가 JDBC 로 직접 insert
+ *   (엔티티 콜백/벌크 delete 중에는 EntityManager 를 사용할 수 없음)
+ * - 한 트랜잭션의 삭제는 모두 같은 버전이므로 id 는 insert 시 change_seq 에서 따로 받음 (allocationSize = 1)
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_change_tombstone_version", columnList = "change_version, entity_type, entity_id"),
+        @Index(name = "idx_change_tombstone_entity", columnList = "entity_type, entity_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class ChangeTombstone {
+    public static final String SEQUENCE = "change_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_seq_generator")
+    @SequenceGenerator(name = "change_seq_generator", sequenceName = SEQUENCE, allocationSize = 1)
+    @Column(name = "change_tombstone_id")
+    private Long id;
+    @Column(name = "change_version")
+    private Long changeVersion;
+    @Column(name = "entity_type", length = 16)
+    private String entityType;
+    @Column(name = "entity_id")
+    private Long entityId;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,14 @@
+package study.querydsl.entity;
+
+/**
+ * 변경 피드(/members/changes) 대상 엔티티
+ * - 쓰기마다 트랜잭션의 변경 버전(change_seq)을 changeVersion 에 기록 (ChangeVersionListener)
+ */
+public interface ChangeVersioned {
+
+    Long getId();
+
+    Long getChangeVersion();
+
+    void setChangeVersion(Long changeVersion);
+}
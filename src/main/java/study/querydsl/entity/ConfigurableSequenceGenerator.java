@@ -0,0 +1,25 @@
+package study.querydsl.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * increment_size 를 Sequences.ALLOCATION_SIZE_SETTING 설정값으로 지정하는 시퀀스 생성기
+ * - 옵티마이저(pooled-lo) 등 나머지는 SequenceStyleGenerator 와 같음
+ */
+public class ConfigurableSequenceGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = ConfigurationHelper.getInt(Sequences.ALLOCATION_SIZE_SETTING,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), Sequences.DEFAULT_ALLOCATION_SIZE);
+        params.setProperty(INCREMENT_PARAM, Integer.toString(allocationSize));
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -2,15 +2,22 @@ package study.querydsl.entity;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
 
 @Entity
 @Getter @Setter
 public class Hello {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hello_seq_generator")
+    @GenericGenerator(name = "hello_seq_generator", strategy = Sequences.GENERATOR,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "hello_seq"))
     private Long id;
 }
@@ -1,22 +1,69 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import study.querydsl.cache.DataVersionListener;
+import study.querydsl.change.ChangeVersionListener;
+import study.querydsl.cache.MemberUsernameCacheListener;
+import study.querydsl.index.UsernameTrigramIndexListener;
+import study.querydsl.outbox.OutboxListener;
+
 import javax.persistence.*;
+import java.util.Locale;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
+@EntityListeners({ChangeVersionListener.class, DataVersionListener.class, MemberUsernameCacheListener.class, UsernameTrigramIndexListener.class, OutboxListener.class})
+@NamedEntityGraph(name = Member.GRAPH_TEAM, attributeNodes = @NamedAttributeNode("team"))
+@Table(indexes = {
+        @Index(name = "idx_member_username_lower", columnList = "username_lower"),
+        @Index(name = "idx_member_age_bracket", columnList = "age_bracket"),
+        @Index(name = "idx_member_change_version", columnList = "change_version, member_id")
+})
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
-public class Member {
+public class Member implements ChangeVersioned {
+    public static final String GRAPH_TEAM = "Member.team";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @GenericGenerator(name = "member_seq_generator", strategy = Sequences.GENERATOR,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "member_seq"))
     @Column(name = "member_id")
     private Long id;
     private String username;
+    /**
+     * 대소문자 무시/접두어 검색용 정규화 컬럼 (lower(username))
+     * - 엔티티 저장/수정 시 @PrePersist/@PreUpdate 에서만 갱신, 벌크 update 로 username 을 바꾸면 같이 set 해야 함
+     */
+    @Column(name = "username_lower")
+    @Setter(AccessLevel.NONE)
+    private String usernameLower;
     private int age;
+    /**
+     * 나이 구간 - 저장/수정 시 갱신, 벌크 update 는 MemberJpaRepository.bulkAddAge 처럼 같이 set
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "age_bracket", length = 16)
+    @Setter(AccessLevel.NONE)
+    private AgeBracket ageBracket;
+    // 변경 피드 버전 (ChangeVersionListener / 벌크 연산에서 기록)
+    @Column(name = "change_version")
+    private Long changeVersion;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
+    // 로딩/저장 시점의 username (변경 시 이전 username 의 near-cache 무효화용)
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private String loadedUsername;
 
     public Member(String username) {
         this(username, 0);
@@ -34,9 +81,37 @@ public class Member {
         }
     }
 
+    /**
+     * 연관관계 편의 메서드
+     * - Team.members 는 mappedBy(inverse) 컬렉션이므로 초기화되지 않은 상태에서의 add 는
+     *   Hibernate 가 큐에 쌓아두었다가 컬렉션이 초기화될 때 반영 (컬렉션 전체를 로딩하지 않음)
+     * - remove 는 컬렉션을 초기화하므로, 기존 팀의 컬렉션이 이미 로딩된 경우에만 제거
+     */
     public void changeTeam(Team team) {
+        if (this.team != null && Hibernate.isInitialized(this.team.getMembers())) {
+            this.team.getMembers().remove(this);
+        }
         this.team = team;
         team.getMembers().add(this);
     }
-}
 
+    /**
+     * 엔티티 리스너(MemberUsernameCacheListener) 이후에 호출되므로 리스너에서는 변경 전 값이 보임
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    private void rememberLoadedUsername() {
+        this.loadedUsername = username;
+    }
+
+    /**
+     * 정규화/파생 컬럼 갱신 (username_lower, age_bracket)
+     */
+    @PrePersist
+    @PreUpdate
+    private void updateDerivedColumns() {
+        this.usernameLower = username != null ? username.toLowerCase(Locale.ROOT) : null;
+        this.ageBracket = AgeBracket.of(age);
+    }
+}
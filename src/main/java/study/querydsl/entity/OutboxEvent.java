@@ -0,0 +1,69 @@
+package study.querydsl.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Member/Team 변경 이벤트 (transactional outbox)
+ * - 변경과 같은 트랜잭션에서 Outbox 가 JDBC 로 insert, OutboxPoller 가 구독자에게 전달 후 publishedAt 기록
+ * - 벌크 연산은 aggregateId 없이 BULK_* 이벤트 하나 (payload: update 는 변경한 속성 목록, delete 는 삭제 건수)
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_published", columnList = "published_at, outbox_event_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class OutboxEvent {
+    public static final String SEQUENCE = "outbox_seq";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String BULK_UPDATED = "BULK_UPDATED";
+    public static final String BULK_DELETED = "BULK_DELETED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq_generator")
+    @SequenceGenerator(name = "outbox_seq_generator", sequenceName = SEQUENCE, allocationSize = 1)
+    @Column(name = "outbox_event_id")
+    private Long id;
+    @Column(length = 16)
+    private String aggregateType;
+    private Long aggregateId;
+    @Column(length = 16)
+    private String eventType;
+    private String payload;
+    private Long changeVersion;
+    private LocalDateTime createdAt;
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * 저장하지 않고 구독자에게 바로 전달할 이벤트 (member.outbox.enabled=false)
+     */
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload, Long changeVersion,
+                       LocalDateTime createdAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.changeVersion = changeVersion;
+        this.createdAt = createdAt;
+    }
+
+    public boolean isBulk() {
+        return BULK_UPDATED.equals(eventType) || BULK_DELETED.equals(eventType);
+    }
+}
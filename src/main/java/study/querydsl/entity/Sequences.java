@@ -0,0 +1,26 @@
+package study.querydsl.entity;
+
+/**
+ * 엔티티 시퀀스 채번 설정
+ * - 채번 단위(allocationSize)는 member.sequence.allocation-size 로 지정 (기본 DEFAULT_ALLOCATION_SIZE)
+ *   JpaBatchConfig 가 이 값을 ALLOCATION_SIZE_SETTING 과 hibernate.jdbc.batch_size 에 같이 넣음
+ *   (INSERT 배치 하나를 시퀀스 호출 한 번으로 채번)
+ * - @SequenceGenerator 의 allocationSize 는 컴파일 타임 상수이므로 대신 ConfigurableSequenceGenerator 를 사용
+ */
+public final class Sequences {
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    /**
+     * ConfigurableSequenceGenerator 가 읽는 hibernate 설정 키
+     */
+    public static final String ALLOCATION_SIZE_SETTING = "study.querydsl.sequence.allocation_size";
+
+    /**
+     * @GenericGenerator strategy
+     */
+    public static final String GENERATOR = "study.querydsl.entity.ConfigurableSequenceGenerator";
+
+    private Sequences() {
+    }
+}
@@ -1,20 +1,47 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import study.querydsl.cache.DataVersionListener;
+import study.querydsl.change.ChangeVersionListener;
+import study.querydsl.outbox.OutboxListener;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
+@EntityListeners({ChangeVersionListener.class, DataVersionListener.class, OutboxListener.class})
+@Table(indexes = @Index(name = "idx_team_change_version", columnList = "change_version, team_id"))
+@NamedEntityGraph(name = Team.GRAPH_MEMBERS, attributeNodes = @NamedAttributeNode("members"))
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
-public class Team {
-    @Id @GeneratedValue
+public class Team implements ChangeVersioned {
+    public static final String GRAPH_MEMBERS = "Team.members";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @GenericGenerator(name = "team_seq_generator", strategy = Sequences.GENERATOR,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "team_seq"))
     @Column(name = "team_id")
     private Long id;
     private String name;
+    // 변경 피드 버전 (ChangeVersionListener / 벌크 연산에서 기록)
+    @Column(name = "change_version")
+    private Long changeVersion;
+    // size(), contains() 호출 시 컬렉션 전체가 아닌 count/단건 쿼리로 처리
     @OneToMany(mappedBy = "team")
+    @LazyCollection(LazyCollectionOption.EXTRA)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team.members")
     private List<Member> members = new ArrayList<>();
 
     public Team(String name) {
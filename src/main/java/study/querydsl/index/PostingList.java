@@ -0,0 +1,118 @@
+package study.querydsl.index;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 정렬된 회원 id 목록을 delta + varint 로 압축한 posting list
+ * - 시퀀스로 증가하는 id 는 끝에 붙이는 경우가 대부분이므로 append 는 디코딩 없이 처리
+ * - 중간 삽입(스냅샷 이후 재색인 등)만 전체 디코딩 후 다시 인코딩
+ * - trigram 별 posting 용 (삭제가 없음), 회원 id 전체 목록은 UsernameTrigramIndex 의 Roaring64Bitmap
+ * - 동기화는 UsernameTrigramIndex 의 lock 에 맡김
+ */
+class PostingList {
+
+    private byte[] data;
+    private int length;
+    private int size;
+    private long last;
+
+    PostingList() {
+        this.data = new byte[8];
+    }
+
+    private PostingList(byte[] data, int size, long last) {
+        this.data = data;
+        this.length = data.length;
+        this.size = size;
+        this.last = last;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int byteLength() {
+        return length;
+    }
+
+    void add(long id) {
+        if (size == 0 || id > last) {
+            writeVarLong(size == 0 ? id : id - last);
+            last = id;
+            size++;
+            return;
+        }
+
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        long[] merged = new long[ids.length + 1];
+        System.arraycopy(ids, 0, merged, 0, insertAt);
+        merged[insertAt] = id;
+        System.arraycopy(ids, insertAt, merged, insertAt + 1, ids.length - insertAt);
+        encode(merged);
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        int position = 0;
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            value += delta;
+            ids[i] = value;
+        }
+        return ids;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(size);
+        buffer.putLong(last);
+        buffer.putInt(length);
+        buffer.put(data, 0, length);
+    }
+
+    static PostingList readFrom(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        long last = buffer.getLong();
+        byte[] data = new byte[buffer.getInt()];
+        buffer.get(data);
+        return new PostingList(data, size, last);
+    }
+
+    static int serializedSize(PostingList list) {
+        return Integer.BYTES + Long.BYTES + Integer.BYTES + list.length;
+    }
+
+    private void encode(long[] ids) {
+        length = 0;
+        size = 0;
+        for (long id : ids) {
+            writeVarLong(size == 0 ? id : id - last);
+            last = id;
+            size++;
+        }
+    }
+
+    private void writeVarLong(long value) {
+        if (data.length - length < 10) {
+            data = Arrays.copyOf(data, Math.max(data.length + (data.length >> 1), length + 10));
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+}
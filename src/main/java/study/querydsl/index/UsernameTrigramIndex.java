@@ -0,0 +1,531 @@
+package study.querydsl.index;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import study.querydsl.entity.QMember;
+import study.querydsl.repository.support.UsernameContainsCandidates;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * username 부분 일치(usernameContains) 검색용 trigram 역색인
+ * - 소문자 username 의 3글자 조각마다 회원 id posting list 를 유지하고, 검색어의 모든 trigram 교집합을 후보 id 로 사용
+ * - 후보 id 는 member_id in (...) 조건으로 추가되고, like 조건은 그대로 남아 DB 에서 최종 확인
+ *   (수정/삭제로 남은 오래된 posting 은 결과에 영향 없이 후보만 늘림)
+ * - 저장/수정/삭제는 UsernameTrigramIndexListener 가 커밋 이후 반영,
+ *   username 을 바꾸는 벌크 update 는 outbox 이벤트로 백그라운드 재동기화 (UsernameTrigramIndexOutboxSubscriber)
+ * - 후보로 좁히는 것은 색인의 최대 change_version 이 커밋된 것으로 알려진 change_version(워터마크) 이상일 때만
+ *   워터마크는 리스너(커밋 이후)와 outbox 이벤트(다른 인스턴스의 변경 포함)로 올라가므로 검색 시 DB 를 조회하지 않음
+ *   쓰기 트랜잭션 안(커밋 전 변경)이거나 워터마크보다 뒤처지면 like 로 처리하고 백그라운드에서 다시 맞춤
+ *   (DB 와의 회원 수/최대 id/최대 change_version 비교는 백그라운드 재동기화에서만 수행)
+ * - outbox 가 꺼져 있으면(member.outbox.enabled=false) 다른 인스턴스의 변경은 다음 재동기화까지 반영되지 않음
+ * - 종료 시 스냅샷을 memory-mapped 파일로 저장하고, 기동 시 스냅샷 + 이후 변경된(change_version) 행을 읽은 뒤
+ *   회원 수/최대 id 가 DB 와 다르면 스냅샷을 버리고 전체 재색인
+ * - 색인이 준비되기 전, 검색어가 3글자 미만, 후보가 max-candidates 초과인 경우 like 전체 스캔으로 처리
+ * - 다른 인스턴스의 수정이 더 큰 change_version 보다 늦게 커밋되면 다음 불일치(재색인)까지 반영되지 않을 수 있음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.trigram.enabled", havingValue = "true")
+public class UsernameTrigramIndex implements UsernameContainsCandidates {
+
+    private static final int MAGIC = 0x54524933; // "TRI3"
+
+    private final JPAQueryFactory queryFactory;
+    private final TaskExecutor taskExecutor;
+    private final Path snapshotPath;
+    private final int maxCandidates;
+    private final int batchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    // 색인된 회원 id (삭제 반영) - 포함 여부/추가/삭제를 다시 인코딩 없이 처리, DB 회원 수와 비교
+    private Roaring64Bitmap ids = new Roaring64Bitmap();
+    private long maxIndexedId;
+    // 쓰기는 lock 안에서, 검색 시 워터마크 비교는 lock 없이 읽음
+    private volatile long maxIndexedVersion;
+    // 커밋된 것으로 알려진 최대 change_version (리스너/outbox 이벤트)
+    private final AtomicLong knownVersion = new AtomicLong();
+    private final AtomicBoolean resyncing = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public UsernameTrigramIndex(JPAQueryFactory queryFactory,
+                                TaskExecutor taskExecutor,
+                                @Value("${member.trigram.snapshot-path:}") String snapshotPath,
+                                @Value("${member.trigram.max-candidates:10000}") int maxCandidates,
+                                @Value("${member.trigram.batch-size:10000}") int batchSize) {
+        this.queryFactory = queryFactory;
+        this.taskExecutor = taskExecutor;
+        this.snapshotPath = StringUtils.hasText(snapshotPath) ? Paths.get(snapshotPath) : null;
+        this.maxCandidates = maxCandidates;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        taskExecutor.execute(() -> {
+            long start = System.currentTimeMillis();
+            long target = knownVersion.get();
+            try {
+                // 스냅샷 이후 변경된 행만 다시 읽고, DB 와 어긋나면 스냅샷을 버림
+                boolean restored = restoreSnapshot();
+                if (restored && !catchUpAndVerify()) {
+                    log.warn("username trigram 스냅샷이 DB 와 달라 전체 재색인 {}", snapshotPath);
+                    restored = false;
+                }
+                if (!restored) {
+                    clear();
+                    indexFrom(0);
+                }
+                caughtUpTo(target);
+                ready = true;
+                log.info("username trigram 색인 준비 완료 snapshot={} trigrams={} ({}ms)"
+                        , restored, trigramCount(), System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                log.error("username trigram 색인 생성 실패 - like 검색으로 처리", e);
+            }
+        });
+    }
+
+    /**
+     * 전체 재색인 (벌크 update 이후 등)
+     * - 재색인 중에는 후보가 빠질 수 있으므로 like 전체 스캔으로 처리
+     */
+    public void rebuild() {
+        ready = false;
+        clear();
+        indexFrom(0);
+        ready = true;
+    }
+
+    public void add(Long id, String username) {
+        add(id, username, null);
+    }
+
+    public void add(Long id, String username, Long changeVersion) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.addLong(id);
+            if (username != null) {
+                for (long trigram : trigramsOf(username)) {
+                    postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+                }
+            }
+            maxIndexedId = Math.max(maxIndexedId, id);
+            if (changeVersion != null) {
+                maxIndexedVersion = Math.max(maxIndexedVersion, changeVersion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 수정 반영 - 이미 색인된 회원의 username 이 그대로면 posting 은 건드리지 않고 change_version 만 반영
+     */
+    public void update(Long id, String oldUsername, String username, Long changeVersion) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (ids.contains(id) && Objects.equals(oldUsername, username)) {
+                if (changeVersion != null) {
+                    maxIndexedVersion = Math.max(maxIndexedVersion, changeVersion);
+                }
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        add(id, username, changeVersion);
+    }
+
+    /**
+     * 커밋된 변경의 change_version 전달 (outbox 이벤트) - 색인이 이보다 뒤처지면 다시 맞출 때까지 like 로 처리
+     */
+    public void observe(long changeVersion) {
+        knownVersion.accumulateAndGet(changeVersion, Math::max);
+    }
+
+    /**
+     * 삭제된 회원은 id 목록에서만 제거 (posting 은 후보만 늘리므로 남겨둠)
+     */
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.removeLong(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어를 포함할 수 있는 회원 id 조건, 색인으로 좁힐 수 없거나 색인이 DB 와 다르면 null
+     */
+    @Override
+    public Predicate candidates(String contains) {
+        if (!ready || !StringUtils.hasText(contains) || contains.length() < 3) {
+            return null;
+        }
+        if (!isComplete()) {
+            resyncAsync();
+            return null;
+        }
+
+        long[] candidateIds = lookup(contains);
+        if (candidateIds == null || candidateIds.length > maxCandidates) {
+            return null;
+        }
+        Long[] boxed = new Long[candidateIds.length];
+        for (int i = 0; i < candidateIds.length; i++) {
+            boxed[i] = candidateIds[i];
+        }
+        return QMember.member.id.in(boxed);
+    }
+
+    /**
+     * 색인이 커밋된 것으로 알려진 변경을 모두 반영했는지 확인 (DB 조회 없음)
+     * - 쓰기 트랜잭션 안에서는 커밋 전 변경이 색인에 없으므로 항상 false
+     */
+    boolean isComplete() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        return knownVersion.get() <= maxIndexedVersion;
+    }
+
+    /**
+     * 회원 수, 최대 id, 최대 change_version 이 색인과 같은지 확인 (집계는 인덱스만으로 처리)
+     */
+    private boolean matches(Tuple state) {
+        QMember member = QMember.member;
+        Long count = state.get(member.count());
+        Long maxId = state.get(member.id.max());
+        Long maxVersion = state.get(member.changeVersion.max());
+        lock.readLock().lock();
+        try {
+            return count != null && count == ids.getLongCardinality()
+                    && (count == 0 || Objects.equals(maxId, maxIndexedId))
+                    && (maxVersion == null || maxVersion <= maxIndexedVersion);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Tuple fetchState() {
+        QMember member = QMember.member;
+        return queryFactory
+                .select(member.count(), member.id.max(), member.changeVersion.max())
+                .from(member)
+                .fetchOne();
+    }
+
+    /**
+     * 불일치 발견/벌크 update 시 한 번에 하나만 실행 - 변경분만 다시 읽어도 맞지 않으면 전체 재색인
+     */
+    void resyncAsync() {
+        if (!resyncing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    // 시작 전에 알려진 변경은 DB 와 맞춘 색인에 포함됨 (그 사이 삭제된 행의 버전도 따라잡은 것으로 처리)
+                    long target = knownVersion.get();
+                    if (!catchUpAndVerify()) {
+                        rebuild();
+                    }
+                    caughtUpTo(target);
+                } catch (RuntimeException e) {
+                    log.warn("username trigram 색인 재동기화 실패", e);
+                } finally {
+                    resyncing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            resyncing.set(false);
+            log.warn("username trigram 색인 재동기화 요청 실패", e);
+        }
+    }
+
+    private void caughtUpTo(long version) {
+        lock.writeLock().lock();
+        try {
+            maxIndexedVersion = Math.max(maxIndexedVersion, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인의 최대 change_version 이후 변경된 행을 다시 색인한 뒤 DB 와 일치하는지 확인
+     */
+    private boolean catchUpAndVerify() {
+        long fromVersion;
+        lock.readLock().lock();
+        try {
+            fromVersion = maxIndexedVersion;
+        } finally {
+            lock.readLock().unlock();
+        }
+        indexChangedAfter(fromVersion);
+        return matches(fetchState());
+    }
+
+    long[] lookup(String contains) {
+        Set<Long> trigrams = trigramsOf(contains);
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[trigrams.size()];
+            int i = 0;
+            for (long trigram : trigrams) {
+                PostingList list = postings.get(trigram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists[i++] = list;
+            }
+
+            // 가장 짧은 목록부터 교집합
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+            long[] result = lists[0].toArray();
+            for (int j = 1; j < lists.length && result.length > 0; j++) {
+                result = intersect(result, lists[j].toArray());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (ready && snapshotPath != null) {
+            writeSnapshot();
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ids = new Roaring64Bitmap();
+            maxIndexedId = 0;
+            maxIndexedVersion = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexFrom(long afterId) {
+        QMember member = QMember.member;
+        long lastId = afterId;
+        while (true) {
+            List<Tuple> rows = queryFactory
+                    .select(member.id, member.username, member.changeVersion)
+                    .from(member)
+                    .where(member.id.gt(lastId))
+                    .orderBy(member.id.asc())
+                    .limit(batchSize)
+                    .fetch();
+            for (Tuple row : rows) {
+                add(row.get(member.id), row.get(member.username), row.get(member.changeVersion));
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+            lastId = rows.get(rows.size() - 1).get(member.id);
+        }
+    }
+
+    /**
+     * change_version 이 fromVersion 보다 큰 행 색인 (idx_member_change_version 사용)
+     */
+    private void indexChangedAfter(long fromVersion) {
+        QMember member = QMember.member;
+        long lastVersion = fromVersion;
+        long lastId = 0;
+        while (true) {
+            List<Tuple> rows = queryFactory
+                    .select(member.id, member.username, member.changeVersion)
+                    .from(member)
+                    .where(member.changeVersion.gt(lastVersion)
+                            .or(member.changeVersion.eq(lastVersion).and(member.id.gt(lastId))))
+                    .orderBy(member.changeVersion.asc(), member.id.asc())
+                    .limit(batchSize)
+                    .fetch();
+            for (Tuple row : rows) {
+                add(row.get(member.id), row.get(member.username), row.get(member.changeVersion));
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+            Tuple last = rows.get(rows.size() - 1);
+            lastVersion = last.get(member.changeVersion);
+            lastId = last.get(member.id);
+        }
+    }
+
+    /**
+     * @return 스냅샷을 읽었으면 true (DB 와의 일치 여부는 catchUpAndVerify 에서 확인)
+     */
+    private boolean restoreSnapshot() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                log.warn("username trigram 스냅샷 형식이 달라 무시 {}", snapshotPath);
+                return false;
+            }
+            long snapshotMaxId = buffer.getLong();
+            long snapshotMaxVersion = buffer.getLong();
+            byte[] idBytes = new byte[buffer.getInt()];
+            buffer.get(idBytes);
+            Roaring64Bitmap snapshotIds = new Roaring64Bitmap();
+            snapshotIds.deserialize(new DataInputStream(new ByteArrayInputStream(idBytes)));
+            int entries = buffer.getInt();
+            Map<Long, PostingList> restored = new HashMap<>(entries * 4 / 3 + 1);
+            for (int i = 0; i < entries; i++) {
+                restored.put(buffer.getLong(), PostingList.readFrom(buffer));
+            }
+
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                postings.putAll(restored);
+                ids = snapshotIds;
+                maxIndexedId = snapshotMaxId;
+                maxIndexedVersion = snapshotMaxVersion;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("username trigram 스냅샷 복구 실패 - 전체 재색인 {}", snapshotPath, e);
+            return false;
+        }
+    }
+
+    private void writeSnapshot() {
+        lock.readLock().lock();
+        try {
+            ByteArrayOutputStream idBytes = new ByteArrayOutputStream();
+            ids.serialize(new DataOutputStream(idBytes));
+            long size = Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES + idBytes.size() + Integer.BYTES;
+            for (PostingList list : postings.values()) {
+                size += Long.BYTES + PostingList.serializedSize(list);
+            }
+
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ
+                    , StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC);
+                buffer.putLong(maxIndexedId);
+                buffer.putLong(maxIndexedVersion);
+                buffer.putInt(idBytes.size());
+                buffer.put(idBytes.toByteArray());
+                buffer.putInt(postings.size());
+                for (Map.Entry<Long, PostingList> entry : postings.entrySet()) {
+                    buffer.putLong(entry.getKey());
+                    entry.getValue().writeTo(buffer);
+                }
+                buffer.force();
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+            log.info("username trigram 스냅샷 저장 {} ({} bytes)", snapshotPath, size);
+        } catch (IOException e) {
+            log.warn("username trigram 스냅샷 저장 실패 {}", snapshotPath, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 소문자 3글자를 16bit 씩 long 하나로 묶은 키
+     */
+    static Set<Long> trigramsOf(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            trigrams.add(((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[count++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.function.Consumer;
+
+/**
+ * Member 저장/수정/삭제 시 username trigram 색인 반영 (커밋 이후)
+ * - member.trigram.enabled=false 이면 색인 빈이 없으므로 아무것도 하지 않음
+ * - 변경 전 username 의 posting 은 남겨둠 (검색 시 like 조건으로 걸러짐)
+ * - username 이 바뀌지 않은 수정은 posting 을 다시 쓰지 않음
+ * - 삭제는 색인의 회원 id 목록에서만 제거 (DB 회원 수와 비교용)
+ */
+@Component
+@RequiredArgsConstructor
+public class UsernameTrigramIndexListener {
+
+    private final ObjectProvider<UsernameTrigramIndex> usernameTrigramIndex;
+
+    @PostPersist
+    public void onPersist(Member member) {
+        Long id = member.getId();
+        String username = member.getUsername();
+        Long changeVersion = member.getChangeVersion();
+        afterCommit(index -> index.add(id, username, changeVersion));
+    }
+
+    /**
+     * 엔티티 리스너가 엔티티 콜백보다 먼저 호출되므로 loadedUsername 은 변경 전 username
+     */
+    @PostUpdate
+    public void onUpdate(Member member) {
+        Long id = member.getId();
+        String oldUsername = member.getLoadedUsername();
+        String username = member.getUsername();
+        Long changeVersion = member.getChangeVersion();
+        afterCommit(index -> index.update(id, oldUsername, username, changeVersion));
+    }
+
+    @PostRemove
+    public void onRemove(Member member) {
+        Long id = member.getId();
+        afterCommit(index -> index.remove(id));
+    }
+
+    private void afterCommit(Consumer<UsernameTrigramIndex> action) {
+        UsernameTrigramIndex index = usernameTrigramIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(index);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.accept(index);
+            }
+        });
+    }
+}
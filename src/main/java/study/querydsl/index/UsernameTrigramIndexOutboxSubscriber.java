@@ -0,0 +1,51 @@
+package study.querydsl.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import study.querydsl.change.ChangeVersionListener;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.OutboxEvent;
+import study.querydsl.outbox.OutboxSubscriber;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Member 이벤트의 change_version 으로 trigram 색인의 워터마크를 올리고 (다른 인스턴스의 변경 포함),
+ * username 을 바꾸는 Member 벌크 update 이벤트 수신 시 trigram 색인 재동기화 요청
+ * - 폴러 스레드를 막지 않도록 색인의 백그라운드 재동기화(변경 버전 이후 행 재색인, 어긋나면 전체 재색인)에 맡김
+ * - 벌크 delete 로 남는 posting 은 후보만 늘리므로 무시
+ * - 색인이 비활성화(member.trigram.enabled=false)면 아무 일도 하지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class UsernameTrigramIndexOutboxSubscriber implements OutboxSubscriber {
+
+    private static final String MEMBER = ChangeVersionListener.entityType(Member.class);
+
+    private final ObjectProvider<UsernameTrigramIndex> usernameTrigramIndex;
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        UsernameTrigramIndex index = usernameTrigramIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        events.stream()
+                .filter(event -> MEMBER.equals(event.getAggregateType()) && event.getChangeVersion() != null)
+                .mapToLong(OutboxEvent::getChangeVersion)
+                .max()
+                .ifPresent(index::observe);
+        if (events.stream().anyMatch(UsernameTrigramIndexOutboxSubscriber::changesUsername)) {
+            index.resyncAsync();
+        }
+    }
+
+    private static boolean changesUsername(OutboxEvent event) {
+        return OutboxEvent.BULK_UPDATED.equals(event.getEventType())
+                && MEMBER.equals(event.getAggregateType())
+                && event.getPayload() != null
+                && Arrays.asList(event.getPayload().split(",")).contains("username");
+    }
+}
@@ -0,0 +1,81 @@
+package study.querydsl.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 부하 테스트용 데이터 생성
+ * - 팀 크기는 Zipf 분포 (소수 팀에 회원이 몰림)
+ * - username 은 흔한 이름 목록을 Zipf 분포로 고른 뒤 순번을 붙여 중복/편중을 재현
+ * - chunkSize 건마다 커밋하고 영속성 컨텍스트를 비움
+ */
+@Slf4j
+@Profile("loadtest")
+@Component
+public class LoadTestDatasetGenerator {
+
+    private static final String[] NAMES = {
+            "kim", "lee", "park", "choi", "jung", "kang", "cho", "yoon", "jang", "lim",
+            "han", "oh", "seo", "shin", "kwon", "hwang", "ahn", "song", "jeon", "hong"
+    };
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public LoadTestDatasetGenerator(EntityManager em,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${loadtest.dataset.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public void generate(long memberCount, int teamCount, double skew, long seed) {
+        Random random = new Random(seed);
+        ZipfDistribution teamDistribution = new ZipfDistribution(teamCount, skew);
+        ZipfDistribution nameDistribution = new ZipfDistribution(NAMES.length, 1.0);
+
+        List<Long> teamIds = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>(teamCount);
+            for (int i = 0; i < teamCount; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                ids.add(team.getId());
+            }
+            return ids;
+        });
+
+        long start = System.currentTimeMillis();
+        for (long created = 0; created < memberCount; created += chunkSize) {
+            long from = created;
+            long to = Math.min(created + chunkSize, memberCount);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (long i = from; i < to; i++) {
+                    Team team = em.getReference(Team.class, teamIds.get(teamDistribution.sample(random)));
+                    String username = NAMES[nameDistribution.sample(random)] + (i % 1000);
+                    em.persist(new Member(username, random.nextInt(80), team));
+                }
+                em.flush();
+                em.clear();
+            });
+
+            if (to % (chunkSize * 100L) == 0) {
+                log.info("부하 테스트 데이터 생성 {}/{} ({}ms)", to, memberCount, System.currentTimeMillis() - start);
+            }
+        }
+        log.info("부하 테스트 데이터 생성 완료 members={} teams={} ({}ms)"
+                , memberCount, teamCount, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,410 @@
+package study.querydsl.loadtest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.querydsl.config.MemberQueryWarmUp;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchConditionPredicates;
+import study.querydsl.entity.AgeBracket;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberReactiveRepository;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * 회원 검색 부하 테스트
+ * - loadtest 프로필로 기동하면 (선택적으로) 데이터를 생성하고, 기동 완료(ApplicationReadyEvent) 후
+ *   쿼리 워밍업이 UP 을 보고하면 워크로드를 실행 (워밍업이 꺼져 있으면 바로 실행, UP 이 아니면 실행하지 않음)
+ * - target=repository: MemberRepository/MemberJpaRepository 직접 호출
+ * - target=http: baseUrl 의 /v1, /v2, /v3/members 호출
+ * - target=reactive: MemberReactiveRepository(R2DBC) 를 threads 개 동시 구독으로 호출 (워커 스레드 없음)
+ * - target=http-reactive: baseUrl 의 /members/stream 호출
+ * - 생성된 MemberSearchConditionPredicates 의 조건 조합(SHAPE_COUNT)과 페이지 깊이를 무작위로 섞어서 실행
+ *   (조건 필드를 추가하면 조합도 자동으로 늘어남, 값은 데이터셋에 맞춰 채움)
+ * - username-match=exact|ignore-case|prefix|contains 로 회원명 조건 종류 선택 (username_lower 인덱스 비교용)
+ *   - 선택하지 않은 회원명 조건 필드가 들어간 조합은 제외, all 이면 모든 조합
+ * - 처리량, p50/p99/p999 지연시간, 실행된 SQL 수, 실행 중 최대 스레드 수/JDBC 활성 커넥션/R2DBC 사용 커넥션을
+ *   출력하고 결과 CSV 에 누적 (http 계열은 같은 프로세스에 서버가 떠 있을 때 서버 측 수치)
+ */
+@Slf4j
+@Profile("loadtest")
+@Component
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final List<String> USERNAME_MATCHES = Arrays.asList("exact", "ignore-case", "prefix", "contains");
+
+    private static final String[] TEAM_NAMES = {"team0", "team1", "team2", "team10", "team100"};
+    private static final String[] USERNAMES = {"kim0", "lee1", "park2", "hong999"};
+
+    private final LoadTestDatasetGenerator datasetGenerator;
+    private final MemberRepository memberRepository;
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberReactiveRepository memberReactiveRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<MemberQueryWarmUp> memberQueryWarmUp;
+    private final TaskExecutor taskExecutor;
+    private final RestTemplate restTemplate = new RestTemplate();
+    private int[] shapes;
+
+    @Value("${loadtest.dataset.generate:false}")
+    private boolean generate;
+    @Value("${loadtest.dataset.members:10000}")
+    private long memberCount;
+    @Value("${loadtest.dataset.teams:100}")
+    private int teamCount;
+    @Value("${loadtest.dataset.skew:1.1}")
+    private double skew;
+    @Value("${loadtest.dataset.seed:42}")
+    private long seed;
+    @Value("${loadtest.target:repository}")
+    private String target;
+    @Value("${loadtest.base-url:http://localhost:8080}")
+    private String baseUrl;
+    @Value("${loadtest.threads:8}")
+    private int threads;
+    @Value("${loadtest.duration-seconds:30}")
+    private int durationSeconds;
+    @Value("${loadtest.username-match:exact}")
+    private String usernameMatch;
+    @Value("${loadtest.max-page:20}")
+    private int maxPage;
+    @Value("${loadtest.result-file:build/loadtest/results.csv}")
+    private String resultFile;
+
+    public LoadTestRunner(LoadTestDatasetGenerator datasetGenerator,
+                          MemberRepository memberRepository,
+                          MemberJpaRepository memberJpaRepository,
+                          MemberReactiveRepository memberReactiveRepository,
+                          EntityManagerFactory entityManagerFactory,
+                          MeterRegistry meterRegistry,
+                          ObjectProvider<MemberQueryWarmUp> memberQueryWarmUp,
+                          TaskExecutor taskExecutor) {
+        this.datasetGenerator = datasetGenerator;
+        this.memberRepository = memberRepository;
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberReactiveRepository = memberReactiveRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.memberQueryWarmUp = memberQueryWarmUp;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 데이터 생성은 기동 중에 (워밍업보다 먼저)
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (generate) {
+            datasetGenerator.generate(memberCount, teamCount, skew, seed);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        shapes = shapes(usernameMatch);
+        MemberQueryWarmUp warmUp = memberQueryWarmUp.getIfAvailable();
+        CompletableFuture<Health> warmedUp = warmUp == null
+                ? CompletableFuture.completedFuture(Health.up().build()) : warmUp.completion();
+        warmedUp.thenAcceptAsync(health -> {
+            if (!Status.UP.equals(health.getStatus())) {
+                log.error("쿼리 워밍업이 UP 이 아니어서 부하 테스트를 실행하지 않음 status={} details={}"
+                        , health.getStatus(), health.getDetails());
+                return;
+            }
+            try {
+                runLoad();
+            } catch (Exception e) {
+                log.error("부하 테스트 실패", e);
+            }
+        }, taskExecutor);
+    }
+
+    private void runLoad() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        // 최대 스레드 수, JDBC 활성 커넥션, R2DBC 사용 커넥션
+        AtomicLongArray peaks = new AtomicLongArray(3);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> samplePeaks(peaks), 0, 100, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        long[] latencies = "reactive".equals(target) ? runReactive(deadline) : runWorkers(deadline);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        sampler.shutdownNow();
+
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+        Arrays.sort(latencies);
+        report(latencies, elapsedSeconds, statements, peaks);
+    }
+
+    private long[] runWorkers(long deadline) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> runWorker(deadline)));
+        }
+
+        long[] latencies = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] workerLatencies = future.get();
+            long[] merged = Arrays.copyOf(latencies, latencies.length + workerLatencies.length);
+            System.arraycopy(workerLatencies, 0, merged, latencies.length, workerLatencies.length);
+            latencies = merged;
+        }
+        executor.shutdown();
+        return latencies;
+    }
+
+    /**
+     * 워커 스레드 없이 threads 개의 검색을 동시에 구독 상태로 유지
+     */
+    private long[] runReactive(long deadline) {
+        List<Long> latencies = Flux.<MemberSearchCondition>generate(sink -> {
+                    if (System.nanoTime() < deadline) {
+                        sink.next(randomCondition(ThreadLocalRandom.current()));
+                    } else {
+                        sink.complete();
+                    }
+                })
+                .flatMap(condition -> {
+                    long begin = System.nanoTime();
+                    return memberReactiveRepository.search(condition)
+                            .then(Mono.fromCallable(() -> System.nanoTime() - begin));
+                }, threads)
+                .collectList()
+                .block();
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void samplePeaks(AtomicLongArray peaks) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        updatePeak(peaks, 0, threadMXBean.getThreadCount());
+        updatePeak(peaks, 1, gaugeValue("hikaricp.connections.active"));
+        updatePeak(peaks, 2, gaugeValue("member.reactive.pool.acquired"));
+    }
+
+    private long gaugeValue(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        return gauge == null ? 0 : (long) gauge.value();
+    }
+
+    private static void updatePeak(AtomicLongArray peaks, int index, long value) {
+        peaks.accumulateAndGet(index, value, Math::max);
+    }
+
+    private long[] runWorker(long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            long begin = System.nanoTime();
+            execute(ThreadLocalRandom.current());
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - begin;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private void execute(ThreadLocalRandom random) {
+        MemberSearchCondition condition = randomCondition(random);
+        PageRequest pageable = PageRequest.of(random.nextInt(maxPage + 1), 20);
+        int endpoint = random.nextInt(3);
+
+        if ("http".equals(target) || "http-reactive".equals(target)) {
+            UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(baseUrl);
+            if ("http-reactive".equals(target)) {
+                uri.path("/members/stream");
+            } else {
+                uri.path("/v" + (endpoint + 1) + "/members")
+                        .queryParam("page", pageable.getPageNumber())
+                        .queryParam("size", pageable.getPageSize());
+            }
+            if (condition.getUsername() != null) {
+                uri.queryParam("username", condition.getUsername());
+            }
+            if (condition.getUsernameIgnoreCase() != null) {
+                uri.queryParam("usernameIgnoreCase", condition.getUsernameIgnoreCase());
+            }
+            if (condition.getUsernamePrefix() != null) {
+                uri.queryParam("usernamePrefix", condition.getUsernamePrefix());
+            }
+            if (condition.getUsernameContains() != null) {
+                uri.queryParam("usernameContains", condition.getUsernameContains());
+            }
+            if (condition.getTeamName() != null) {
+                uri.queryParam("teamName", condition.getTeamName());
+            }
+            if (condition.getAgeGoe() != null) {
+                uri.queryParam("ageGoe", condition.getAgeGoe());
+            }
+            if (condition.getAgeLoe() != null) {
+                uri.queryParam("ageLoe", condition.getAgeLoe());
+            }
+            if (condition.getAgeBracket() != null) {
+                uri.queryParam("ageBracket", condition.getAgeBracket());
+            }
+            restTemplate.getForObject(uri.toUriString(), String.class);
+            return;
+        }
+
+        if (endpoint == 0) {
+            memberJpaRepository.search(condition);
+        } else if (endpoint == 1) {
+            memberRepository.searchPageSimple(condition, pageable);
+        } else {
+            memberRepository.searchPageComplexOpt(condition, pageable);
+        }
+    }
+
+    /**
+     * 선택한 회원명 조건 외의 회원명 조건 필드가 없는 조합 (all 이면 전체)
+     */
+    static int[] shapes(String usernameMatch) {
+        int excluded = 0;
+        for (String match : USERNAME_MATCHES) {
+            if (!match.equals(usernameMatch) && !"all".equals(usernameMatch)) {
+                excluded |= MemberSearchConditionPredicates.shape(usernameCondition(match, "kim0"));
+            }
+        }
+        int mask = excluded;
+        return IntStream.range(0, MemberSearchConditionPredicates.SHAPE_COUNT)
+                .filter(shape -> (shape & mask) == 0)
+                .toArray();
+    }
+
+    /**
+     * 생성된 sample 로 조합의 필드를 정한 뒤, 값이 있는 필드만 데이터셋에 맞는 값으로 교체
+     */
+    private MemberSearchCondition randomCondition(ThreadLocalRandom random) {
+        MemberSearchCondition condition = MemberSearchConditionPredicates.sample(shapes[random.nextInt(shapes.length)]);
+        String username = USERNAMES[random.nextInt(USERNAMES.length)];
+        if (condition.getUsername() != null) {
+            condition.setUsername(username);
+        }
+        if (condition.getUsernameIgnoreCase() != null) {
+            condition.setUsernameIgnoreCase(usernameCondition("ignore-case", username).getUsernameIgnoreCase());
+        }
+        if (condition.getUsernamePrefix() != null) {
+            condition.setUsernamePrefix(usernameCondition("prefix", username).getUsernamePrefix());
+        }
+        if (condition.getUsernameContains() != null) {
+            condition.setUsernameContains(usernameCondition("contains", username).getUsernameContains());
+        }
+        if (condition.getTeamName() != null) {
+            condition.setTeamName(TEAM_NAMES[random.nextInt(TEAM_NAMES.length)]);
+        }
+        if (condition.getAgeGoe() != null) {
+            condition.setAgeGoe(random.nextInt(40));
+        }
+        if (condition.getAgeLoe() != null) {
+            condition.setAgeLoe(40 + random.nextInt(40));
+        }
+        if (condition.getAgeBracket() != null) {
+            AgeBracket[] brackets = AgeBracket.values();
+            condition.setAgeBracket(brackets[random.nextInt(brackets.length)]);
+        }
+        return condition;
+    }
+
+    private static MemberSearchCondition usernameCondition(String usernameMatch, String username) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        if ("ignore-case".equals(usernameMatch)) {
+            condition.setUsernameIgnoreCase(username.toUpperCase(Locale.ROOT));
+        } else if ("prefix".equals(usernameMatch)) {
+            condition.setUsernamePrefix(username.substring(0, 2).toUpperCase(Locale.ROOT));
+        } else if ("contains".equals(usernameMatch)) {
+            condition.setUsernameContains(username.substring(1));
+        } else {
+            condition.setUsername(username);
+        }
+        return condition;
+    }
+
+    private void report(long[] latencies, double elapsedSeconds, long statements, AtomicLongArray peaks) {
+        long requests = latencies.length;
+        double throughput = requests / elapsedSeconds;
+        double p50 = percentileMillis(latencies, 0.50);
+        double p99 = percentileMillis(latencies, 0.99);
+        double p999 = percentileMillis(latencies, 0.999);
+
+        log.info("부하 테스트 결과 target={} username-match={} threads={} requests={} throughput={}/s p50={}ms p99={}ms p999={}ms statements={}"
+                        + " peakThreads={} peakJdbcConnections={} peakR2dbcConnections={}"
+                , target, usernameMatch, threads, requests, String.format("%.1f", throughput), p50, p99, p999, statements
+                , peaks.get(0), peaks.get(1), peaks.get(2));
+
+        String line = String.join(",", LocalDateTime.now().toString(), target, usernameMatch, String.valueOf(threads)
+                , String.valueOf(requests), String.format("%.1f", throughput)
+                , String.valueOf(p50), String.valueOf(p99), String.valueOf(p999), String.valueOf(statements)
+                , String.valueOf(peaks.get(0)), String.valueOf(peaks.get(1)), String.valueOf(peaks.get(2)))
+                + System.lineSeparator();
+        try {
+            Path path = Paths.get(resultFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            if (!Files.exists(path)) {
+                Files.write(path, ("timestamp,target,username_match,threads,requests,throughput,p50_ms,p99_ms,p999_ms,statements"
+                        + ",peak_threads,peak_jdbc_connections,peak_r2dbc_connections"
+                        + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            }
+            Files.write(path, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
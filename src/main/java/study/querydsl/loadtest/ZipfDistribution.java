@@ -0,0 +1,42 @@
+package study.querydsl.loadtest;
+
+import java.util.Random;
+
+/**
+ * Zipf 분포 샘플러 (1..n, rank 1 이 가장 자주 선택)
+ * - 누적 분포를 미리 계산하고 이진 탐색으로 샘플링
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int n, double exponent) {
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * 0 부터 시작하는 인덱스 반환
+     */
+    public int sample(Random random) {
+        double value = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,142 @@
+package study.querydsl.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.OutboxEvent;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * outbox_event 기록
+ * - 엔티티 콜백/벌크 연산 중에 호출되므로 EntityManager 대신 JdbcTemplate 사용 (같은 트랜잭션 커넥션)
+ * - 트랜잭션 안에서는 행을 모아 두었다가 커밋 직전(Hibernate 의 커밋 전 flush 이후)에 한 번에 batch insert
+ *   (flush 중에 쌓인 이벤트까지 포함되도록 Spring beforeCommit 대신 세션의 BeforeTransactionCompletionProcess 사용)
+ * - 트랜잭션이 롤백되면 이벤트도 함께 사라짐 (같은 세션의 다음 트랜잭션에도 남지 않음)
+ * - member.outbox.enabled=false 면 (OutboxPoller 없음) outbox_event 에 쓰지 않고 커밋 직후 구독자에게 바로 전달
+ *   (전달 실패 시 재시도 없음)
+ */
+@Slf4j
+@Component
+public class Outbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<OutboxSubscriber> subscribers;
+    private final boolean enabled;
+    private volatile String insertSql;
+
+    public Outbox(JdbcTemplate jdbcTemplate,
+                  ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                  ObjectProvider<OutboxSubscriber> subscribers,
+                  @Value("${member.outbox.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.subscribers = subscribers;
+        this.enabled = enabled;
+    }
+
+    public void append(String aggregateType, Long aggregateId, String eventType, String payload, Long changeVersion) {
+        OutboxEvent event = new OutboxEvent(aggregateType, aggregateId, eventType, payload, changeVersion
+                , LocalDateTime.now());
+        List<OutboxEvent> pending = pendingEvents();
+        if (pending != null) {
+            pending.add(event);
+        } else if (enabled) {
+            jdbcTemplate.update(insertSql(), rowOf(event));
+        } else {
+            publish(Collections.singletonList(event));
+        }
+    }
+
+    /**
+     * 현재 트랜잭션(세션)에 모아 둔 이벤트, 트랜잭션 밖이면 null
+     */
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> pendingEvents() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory.getObject());
+        if (em == null) {
+            return null;
+        }
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        List<OutboxEvent> pending = (List<OutboxEvent>) TransactionSynchronizationManager.getResource(session);
+        if (pending != null) {
+            return pending;
+        }
+        List<OutboxEvent> events = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        TransactionSynchronizationManager.bindResource(session, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (!enabled) {
+                    publish(new ArrayList<>(events));
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(session);
+                // 롤백 시 Hibernate 는 등록한 커밋 전 처리를 비우지 않으므로, 같은 세션(OSIV 등)의
+                // 다음 커밋에서 실행되어도 아무것도 쓰지 않도록 표시
+                completed.set(true);
+                events.clear();
+            }
+        });
+        if (enabled) {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s -> {
+                if (!completed.get() && !events.isEmpty()) {
+                    jdbcTemplate.batchUpdate(insertSql(), events.stream().map(Outbox::rowOf).collect(Collectors.toList()));
+                }
+            });
+        }
+        return events;
+    }
+
+    private void publish(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            subscribers.orderedStream().forEach(subscriber -> subscriber.onEvents(events));
+        } catch (RuntimeException e) {
+            log.warn("outbox 이벤트 바로 전달 실패 (outbox 비활성, 재시도 없음) size={}", events.size(), e);
+        }
+    }
+
+    private static Object[] rowOf(OutboxEvent event) {
+        return new Object[]{event.getAggregateType(), event.getAggregateId(), event.getEventType(), event.getPayload()
+                , event.getChangeVersion(), Timestamp.valueOf(event.getCreatedAt())};
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            String nextValue = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect().getSelectSequenceNextValString(OutboxEvent.SEQUENCE);
+            sql = "insert into outbox_event (outbox_event_id, aggregate_type, aggregate_id, event_type, payload"
+                    + ", change_version, created_at) values (" + nextValue + ", ?, ?, ?, ?, ?, ?)";
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
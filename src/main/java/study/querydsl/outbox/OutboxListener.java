@@ -0,0 +1,46 @@
+package study.querydsl.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+import study.querydsl.change.ChangeVersionListener;
+import study.querydsl.entity.ChangeVersioned;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.OutboxEvent;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member/Team 저장/수정/삭제 이벤트를 outbox 에 기록 (flush 시점, 같은 트랜잭션)
+ * - Member 이벤트의 payload 는 username (near-cache 등 username 기준 무효화용)
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxListener {
+
+    private final Outbox outbox;
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        append(entity, OutboxEvent.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        append(entity, OutboxEvent.UPDATED);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        append(entity, OutboxEvent.DELETED);
+    }
+
+    private void append(Object entity, String eventType) {
+        ChangeVersioned versioned = (ChangeVersioned) entity;
+        String payload = entity instanceof Member ? ((Member) entity).getUsername() : null;
+        outbox.append(ChangeVersionListener.entityType(Hibernate.getClass(entity)), versioned.getId()
+                , eventType, payload, versioned.getChangeVersion());
+    }
+}
@@ -0,0 +1,144 @@
+package study.querydsl.outbox;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.OutboxEvent;
+import study.querydsl.entity.QOutboxEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 미발행 outbox 이벤트를 id 순서로 배치 조회해 OutboxSubscriber 들에게 전달
+ * - 전달이 모두 성공한 뒤에 publishedAt 기록 (전달 후 기록 전에 종료되면 재전달 -> 최소 한 번)
+ * - 구독자 예외 시 배치 전체를 다음 폴링에서 재시도하므로 앞선 이벤트가 뒤 이벤트에 추월당하지 않음
+ * - 단일 인스턴스 기준 (여러 인스턴스면 각자 전달하므로 구독자는 로컬 캐시 무효화처럼 인스턴스별 작업이어야 함)
+ * - 발행 후 retention 이 지난 이벤트는 폴링 중에 삭제
+ * - 스케줄 실행은 SchedulingConfig (member.scheduling.enabled)
+ * - 지표: member.outbox.lag (가장 오래된 미발행 이벤트 경과 시간), member.outbox.pending, member.outbox.dispatch
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxPoller {
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<OutboxSubscriber> subscribers;
+    private final int batchSize;
+    private final Duration retention;
+
+    private final Timer dispatchTimer;
+    private final Counter dispatchedCounter;
+    private final Counter failureCounter;
+    private volatile LocalDateTime oldestPendingAt;
+    private volatile long pending;
+
+    public OutboxPoller(JPAQueryFactory queryFactory,
+                        PlatformTransactionManager transactionManager,
+                        ObjectProvider<OutboxSubscriber> subscribers,
+                        MeterRegistry meterRegistry,
+                        @Value("${member.outbox.batch-size:500}") int batchSize,
+                        @Value("${member.outbox.retention-hours:24}") long retentionHours) {
+        this.queryFactory = queryFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.subscribers = subscribers;
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+
+        this.dispatchTimer = Timer.builder("member.outbox.dispatch").register(meterRegistry);
+        this.dispatchedCounter = Counter.builder("member.outbox.dispatched").register(meterRegistry);
+        this.failureCounter = Counter.builder("member.outbox.failures").register(meterRegistry);
+        Gauge.builder("member.outbox.lag", this, OutboxPoller::lagSeconds).baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("member.outbox.pending", this, poller -> poller.pending).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${member.outbox.poll-interval-millis:500}")
+    public void poll() {
+        List<OutboxEvent> events;
+        do {
+            events = transactionTemplate.execute(status -> fetchPending());
+            if (events.isEmpty() || !dispatch(events)) {
+                return;
+            }
+            markPublished(events);
+        } while (events.size() == batchSize);
+    }
+
+    /**
+     * @return 모든 구독자에게 전달했으면 true
+     */
+    boolean dispatch(List<OutboxEvent> events) {
+        long start = System.nanoTime();
+        try {
+            subscribers.orderedStream().forEach(subscriber -> subscriber.onEvents(events));
+            dispatchedCounter.increment(events.size());
+            return true;
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("outbox 이벤트 전달 실패 - 다음 폴링에서 재시도 firstId={} size={}"
+                    , events.get(0).getId(), events.size(), e);
+            return false;
+        } finally {
+            dispatchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    double lagSeconds() {
+        LocalDateTime oldest = oldestPendingAt;
+        return oldest == null ? 0 : Math.max(Duration.between(oldest, LocalDateTime.now()).toMillis(), 0) / 1000.0;
+    }
+
+    private List<OutboxEvent> fetchPending() {
+        QOutboxEvent outboxEvent = QOutboxEvent.outboxEvent;
+        Tuple backlog = queryFactory
+                .select(outboxEvent.createdAt.min(), outboxEvent.count())
+                .from(outboxEvent)
+                .where(outboxEvent.publishedAt.isNull())
+                .fetchOne();
+        oldestPendingAt = backlog.get(0, LocalDateTime.class);
+        pending = backlog.get(1, Long.class);
+        if (pending == 0) {
+            return Collections.emptyList();
+        }
+
+        return queryFactory
+                .selectFrom(outboxEvent)
+                .where(outboxEvent.publishedAt.isNull())
+                .orderBy(outboxEvent.id.asc())
+                .limit(batchSize)
+                .fetch();
+    }
+
+    private void markPublished(List<OutboxEvent> events) {
+        QOutboxEvent outboxEvent = QOutboxEvent.outboxEvent;
+        List<Long> ids = events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory
+                    .update(outboxEvent)
+                    .set(outboxEvent.publishedAt, now)
+                    .where(outboxEvent.id.in(ids))
+                    .execute();
+            queryFactory
+                    .delete(outboxEvent)
+                    .where(outboxEvent.publishedAt.lt(now.minus(retention)))
+                    .execute();
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package study.querydsl.outbox;
+
+import study.querydsl.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * outbox 이벤트 구독자 (프로세스 내)
+ * - 최소 한 번 전달: 어느 구독자든 예외를 던지면 같은 배치를 다음 폴링에서 모든 구독자에게 다시 전달
+ *   (중복 수신에도 결과가 같도록 구현)
+ */
+public interface OutboxSubscriber {
+
+    void onEvents(List<OutboxEvent> events);
+}
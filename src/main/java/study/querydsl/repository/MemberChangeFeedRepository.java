@@ -0,0 +1,122 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.change.ChangeVersionListener;
+import study.querydsl.change.ChangeVersions;
+import study.querydsl.dto.MemberChangeDto;
+import study.querydsl.dto.MemberChangeFeedDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QChangeTombstone;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.QTeam;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.QueryEvents;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 변경 피드 조회 - (since, afterType, afterId) 이후 변경을 (version, entityType, id) 순으로 반환
+ * - Member/Team 의 (change_version, id), tombstone 의 (change_version, entity_type, entity_id) 인덱스 범위 스캔만 사용
+ * - 세 소스를 각각 limit + 1 건씩 읽어 같은 순서로 합친 뒤 limit 건만 반환
+ *   (한 트랜잭션의 변경은 종류와 관계없이 모두 같은 버전이므로 entityType 까지 커서에 포함)
+ * - 커밋되지 않은 버전 이상은 반환하지 않음 (ChangeVersions.safeUpperBound)
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberChangeFeedRepository {
+
+    private static final String REPOSITORY = "MemberChangeFeedRepository";
+
+    private static final String MEMBER = ChangeVersionListener.entityType(Member.class);
+    private static final String TEAM = ChangeVersionListener.entityType(Team.class);
+
+    private final JPAQueryFactory queryFactory;
+    private final ChangeVersions changeVersions;
+
+    @Transactional(readOnly = true)
+    public MemberChangeFeedDto findChanges(long since, String afterType, long afterId, int limit) {
+        long upperBound = changeVersions.safeUpperBound();
+        List<MemberChangeDto> changes = new ArrayList<>();
+
+        QMember member = QMember.member;
+        QTeam team = QTeam.team;
+        JPAQuery<Tuple> memberQuery = queryFactory
+                .select(member.changeVersion, member.id, member.username, member.age, team.id, team.name)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(after(member.changeVersion, MEMBER, member.id, since, afterType, afterId, upperBound))
+                .orderBy(member.changeVersion.asc(), member.id.asc())
+                .limit(limit + 1);
+        for (Tuple row : QueryEvents.fetch(REPOSITORY, "findChanges", "[member]", memberQuery)) {
+            MemberTeamDto dto = new MemberTeamDto(row.get(member.id), row.get(member.username)
+                    , row.get(member.age), row.get(team.id), row.get(team.name));
+            changes.add(new MemberChangeDto(row.get(member.changeVersion), MEMBER, dto.getMemberId(), false, dto, null));
+        }
+
+        QTeam changedTeam = new QTeam("changedTeam");
+        JPAQuery<Tuple> teamQuery = queryFactory
+                .select(changedTeam.changeVersion, changedTeam.id, changedTeam.name)
+                .from(changedTeam)
+                .where(after(changedTeam.changeVersion, TEAM, changedTeam.id, since, afterType, afterId, upperBound))
+                .orderBy(changedTeam.changeVersion.asc(), changedTeam.id.asc())
+                .limit(limit + 1);
+        for (Tuple row : QueryEvents.fetch(REPOSITORY, "findChanges", "[team]", teamQuery)) {
+            changes.add(new MemberChangeDto(row.get(changedTeam.changeVersion), TEAM, row.get(changedTeam.id)
+                    , false, null, row.get(changedTeam.name)));
+        }
+
+        QChangeTombstone tombstone = QChangeTombstone.changeTombstone;
+        JPAQuery<Tuple> tombstoneQuery = queryFactory
+                .select(tombstone.changeVersion, tombstone.entityType, tombstone.entityId)
+                .from(tombstone)
+                .where(tombstone.changeVersion.between(since, upperBound)
+                        .and(tombstone.changeVersion.gt(since)
+                                .or(tombstone.entityType.gt(afterType))
+                                .or(tombstone.entityType.eq(afterType).and(tombstone.entityId.gt(afterId)))))
+                .orderBy(tombstone.changeVersion.asc(), tombstone.entityType.asc(), tombstone.entityId.asc())
+                .limit(limit + 1);
+        for (Tuple row : QueryEvents.fetch(REPOSITORY, "findChanges", "[tombstone]", tombstoneQuery)) {
+            changes.add(new MemberChangeDto(row.get(tombstone.changeVersion), row.get(tombstone.entityType)
+                    , row.get(tombstone.entityId), true, null, null));
+        }
+
+        changes.sort(Comparator.comparingLong(MemberChangeDto::getVersion)
+                .thenComparing(MemberChangeDto::getEntityType)
+                .thenComparing(MemberChangeDto::getId));
+        boolean hasMore = changes.size() > limit;
+        List<MemberChangeDto> page = hasMore ? new ArrayList<>(changes.subList(0, limit)) : changes;
+        if (page.isEmpty()) {
+            return new MemberChangeFeedDto(page, since, afterType, afterId, false);
+        }
+        MemberChangeDto last = page.get(page.size() - 1);
+        return new MemberChangeFeedDto(page, last.getVersion(), last.getEntityType(), last.getId(), hasMore);
+    }
+
+    /**
+     * (version, type, id) > (since, afterType, afterId) and version <= upperBound
+     * - 소스마다 type 이 고정이므로 afterType 과의 비교는 미리 계산
+     * - version 범위 조건을 OR 밖에 두어 인덱스 범위 스캔이 되도록 함
+     */
+    private static BooleanExpression after(NumberPath<Long> version, String type, NumberPath<Long> id,
+                                           long since, String afterType, long afterId, long upperBound) {
+        int compared = type.compareTo(afterType);
+        if (compared > 0) {
+            return version.between(since, upperBound);
+        }
+        if (compared < 0) {
+            return version.gt(since).and(version.loe(upperBound));
+        }
+        return version.between(since, upperBound)
+                .and(version.gt(since).or(id.gt(afterId)));
+    }
+}
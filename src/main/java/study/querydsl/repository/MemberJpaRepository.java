@@ -1,30 +1,46 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
+import study.querydsl.cache.MemberUsernameCache;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.QTeam;
+import study.querydsl.repository.support.MemberSearchPredicates;
+import study.querydsl.repository.support.QueryEvents;
+import study.querydsl.repository.support.UsernameContainsCandidates;
 
 import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
 public class MemberJpaRepository {
 
+    private static final String REPOSITORY = "MemberJpaRepository";
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberUsernameCache memberUsernameCache;
+    private final ObjectProvider<UsernameContainsCandidates> usernameContainsCandidates;
 
-    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory) {
+    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory, MemberUsernameCache memberUsernameCache,
+                               ObjectProvider<UsernameContainsCandidates> usernameContainsCandidates) {
         this.em = em;
-        this.queryFactory = new JPAQueryFactory(em);
+        this.queryFactory = queryFactory;
+        this.memberUsernameCache = memberUsernameCache;
+        this.usernameContainsCandidates = usernameContainsCandidates;
     }
 
     /**
@@ -46,12 +62,39 @@ public class MemberJpaRepository {
         ).getResultList();
     }
 
-    public List<Member> findByUsername(String username) {
+    public List<Member> findAllWithTeam() {
         return em.createQuery(
-                "select m from Member m " +
-                        "where username = :username"
+                "select m from Member m"
                 , Member.class
-        ).setParameter("username", username).getResultList();
+        ).setHint("javax.persistence.fetchgraph", em.getEntityGraph(Member.GRAPH_TEAM)).getResultList();
+    }
+
+    /**
+     * username -> id 는 near-cache(MemberUsernameCache), 엔티티는 id 로 조회 (2차 캐시)
+     */
+    public List<Member> findByUsername(String username) {
+        return findAllById(memberUsernameCache.findIdsByUsername(username));
+    }
+
+    /**
+     * near-cache 로더 - 항상 DB 조회
+     */
+    public List<Long> findIdsByUsername(String username) {
+        JPAQuery<Long> query = queryFactory
+                .select(QMember.member.id)
+                .from(QMember.member)
+                .where(QMember.member.username.eq(username));
+        return QueryEvents.fetch(REPOSITORY, "findIdsByUsername", "[username]", query);
+    }
+
+    /**
+     * 캐시된 id 가 그 사이 삭제된 경우는 제외
+     */
+    private List<Member> findAllById(List<Long> ids) {
+        return ids.stream()
+                .map(id -> em.find(Member.class, id))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -74,22 +117,13 @@ public class MemberJpaRepository {
      * QueryDsl 동적 쿼리
      */
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
+        // 조건식은 생성된 MemberSearchConditionPredicates 로 만들고 BooleanBuilder 로 합침 (null 은 무시됨)
         BooleanBuilder builder = new BooleanBuilder();
-
-        if (StringUtils.hasText(condition.getUsername())) {
-            builder.and(QMember.member.username.eq(condition.getUsername()));
-        }
-        if (StringUtils.hasText(condition.getTeamName())) {
-            builder.and(QTeam.team.name.eq(condition.getTeamName()));
-        }
-        if (condition.getAgeGoe() != null) {
-            builder.and(QMember.member.age.goe(condition.getAgeGoe()));
-        }
-        if (condition.getAgeLoe() != null) {
-            builder.and(QMember.member.age.loe(condition.getAgeLoe()));
+        for (Predicate predicate : MemberSearchPredicates.of(condition, usernameContainsCandidates.getIfAvailable())) {
+            builder.and(predicate);
         }
 
-        return queryFactory
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         QMember.member.id.as("memberId")
                         , QMember.member.username
@@ -99,12 +133,12 @@ public class MemberJpaRepository {
                 ))
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(builder)
-                .fetch();
+                .where(builder);
+        return QueryEvents.fetch(REPOSITORY, "searchByBuilder", QueryEvents.shapeOf(condition), query);
     }
 
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         QMember.member.id.as("memberId")
                         , QMember.member.username
@@ -114,47 +148,68 @@ public class MemberJpaRepository {
                 ))
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
+                .where(MemberSearchPredicates.of(condition, usernameContainsCandidates.getIfAvailable()));
+        return QueryEvents.fetch(REPOSITORY, "search", QueryEvents.shapeOf(condition), query);
     }
 
-    public List<Member> searchMember(MemberSearchCondition condition) {
-        return queryFactory
-                .select(QMember.member)
+    /**
+     * member_id 범위 [fromId, toId) 로 제한한 검색 (병렬 분할 조회용)
+     */
+    public List<MemberTeamDto> searchInIdRange(MemberSearchCondition condition, long fromId, long toId) {
+        JPAQuery<MemberTeamDto> query = queryFactory
+                .select(new QMemberTeamDto(
+                        QMember.member.id.as("memberId")
+                        , QMember.member.username
+                        , QMember.member.age
+                        , QTeam.team.id.as("teamId")
+                        , QTeam.team.name.as("teamName")
+                ))
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        //, ageGoe(condition.getAgeGoe())
-                        //, ageLoe(condition.getAgeLoe())
-                        , ageBetween(condition.getAgeLoe(), condition.getAgeGoe())
-                )
-                .fetch();
+                .where(QMember.member.id.goe(fromId), QMember.member.id.lt(toId))
+                .where(MemberSearchPredicates.of(condition, usernameContainsCandidates.getIfAvailable()))
+                .orderBy(QMember.member.id.asc());
+        return QueryEvents.fetch(REPOSITORY, "searchInIdRange", QueryEvents.shapeOf(condition), query);
     }
 
-    public BooleanExpression ageBetween(int ageLoe, int ageGoe) {
-        return ageGoe(ageLoe).and(ageGoe(ageGoe));
-    }
-
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? QMember.member.username.eq(username) : null;
+    public Tuple findIdRange() {
+        return queryFactory
+                .select(QMember.member.id.min(), QMember.member.id.max())
+                .from(QMember.member)
+                .fetchOne();
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? QTeam.team.name.eq(teamName) : null;
+    /**
+     * 전체 회원 나이 일괄 증가
+     * - age_bracket 은 ChangeTrackingJPAQueryFactory 가 새 나이 기준 CASE 식으로 같이 갱신
+     * - 실행 전 flush, 실행 후 영속성 컨텍스트를 비워 오래된 엔티티가 남지 않도록 함
+     */
+    public long bulkAddAge(int amount) {
+        em.flush();
+        long count = queryFactory
+                .update(QMember.member)
+                .set(QMember.member.age, QMember.member.age.add(amount))
+                .execute();
+        em.clear();
+        return count;
     }
 
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? QMember.member.age.goe(ageGoe) : null;
+    public List<Member> searchMember(MemberSearchCondition condition) {
+        JPAQuery<Member> query = queryFactory
+                .select(QMember.member)
+                .from(QMember.member)
+                .leftJoin(QMember.member.team, QTeam.team)
+                .where(
+                        MemberSearchPredicates.usernameEq(condition.getUsername())
+                        , MemberSearchPredicates.teamNameEq(condition.getTeamName())
+                        //, MemberSearchPredicates.ageGoe(condition.getAgeGoe())
+                        //, MemberSearchPredicates.ageLoe(condition.getAgeLoe())
+                        , ageBetween(condition.getAgeLoe(), condition.getAgeGoe())
+                );
+        return QueryEvents.fetch(REPOSITORY, "searchMember", QueryEvents.shapeOf(condition), query);
     }
 
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? QMember.member.age.goe(ageLoe) : null;
+    public BooleanExpression ageBetween(int ageLoe, int ageGoe) {
+        return MemberSearchPredicates.ageLoe(ageLoe).and(MemberSearchPredicates.ageGoe(ageGoe));
     }
 }
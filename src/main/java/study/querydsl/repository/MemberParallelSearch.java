@@ -0,0 +1,78 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.QMember;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * member_id 범위 분할 병렬 검색
+ * - 전체 id 범위를 partitions 개 구간으로 나누어 구간마다 별도 커넥션에서 조회
+ * - 각 구간은 id 순으로 정렬되어 있으므로 구간 순서대로 이어 붙이면 전체가 id 순
+ * - 대량 export/리포트 용도로, 전용 스레드(member.search.parallel.pool-size)에서 실행
+ *   (MemberSearchExecutor 를 공유하면 그 스레드에서 호출 시 자기 작업을 기다리며 멈추거나 큐 초과로 실패할 수 있음)
+ * - 스레드가 모두 사용 중이면 남은 구간은 호출 스레드에서 직접 실행 (대기 큐 없음, 거절 없음)
+ */
+@Component
+public class MemberParallelSearch implements DisposableBean {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final ThreadPoolTaskExecutor executor;
+
+    public MemberParallelSearch(MemberJpaRepository memberJpaRepository,
+                                @Value("${member.search.parallel.pool-size:4}") int poolSize) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(0);
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.setThreadNamePrefix("member-parallel-search-");
+        this.executor.initialize();
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("구간 수는 1 이상이어야 함: " + partitions);
+        }
+
+        Tuple range = memberJpaRepository.findIdRange();
+        Long minId = range == null ? null : range.get(QMember.member.id.min());
+        Long maxId = range == null ? null : range.get(QMember.member.id.max());
+        if (minId == null || maxId == null) {
+            return Collections.emptyList();
+        }
+
+        long span = maxId - minId + 1;
+        long step = Math.max(1, (span + partitions - 1) / partitions);
+
+        List<CompletableFuture<List<MemberTeamDto>>> futures = new ArrayList<>(partitions);
+        for (long from = minId; from <= maxId; from += step) {
+            long fromId = from;
+            long toId = Math.min(from + step, maxId + 1);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> memberJpaRepository.searchInIdRange(condition, fromId, toId), executor));
+        }
+
+        List<MemberTeamDto> result = new ArrayList<>();
+        for (CompletableFuture<List<MemberTeamDto>> future : futures) {
+            result.addAll(future.join());
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
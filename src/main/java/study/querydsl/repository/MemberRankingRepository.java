@@ -0,0 +1,104 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.QTeam;
+import study.querydsl.repository.support.QueryEvents;
+import study.querydsl.repository.support.Querydsl4RepositorySupport;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 팀별 순위 조회
+ * - 윈도우 함수(row_number, avg over) 네이티브 SQL 로 팀 단위 정렬/집계를 한 번만 수행
+ * - *Correlated 메서드는 같은 결과를 상관 서브쿼리(JPAExpressions)로 구한 비교용 (행마다 서브쿼리 실행)
+ * - 팀이 없는 회원은 제외
+ */
+@Repository
+public class MemberRankingRepository extends Querydsl4RepositorySupport {
+
+    private static final String MEMBER_TEAM_SQL = "select m.member_id, m.username, m.age, t.team_id, t.name as team_name"
+            + " from member m join team t on t.team_id = m.team_id";
+
+    private static final String ABOVE_TEAM_AVERAGE_SQL = "select member_id, username, age, team_id, team_name from ("
+            + "select m.member_id, m.username, m.age, t.team_id, t.name as team_name"
+            + ", avg(cast(m.age as double precision)) over (partition by m.team_id) as team_avg_age"
+            + " from member m join team t on t.team_id = m.team_id"
+            + ") scored where age > team_avg_age order by team_id, age desc, member_id";
+
+    public MemberRankingRepository() {
+        super(Member.class);
+    }
+
+    /**
+     * 팀별 나이가 많은 순 상위 limit 명 (동갑이면 id 순)
+     */
+    public List<MemberTeamDto> findOldestPerTeam(int limit) {
+        String sql = topNPerPartition(MEMBER_TEAM_SQL, "team_id", "age desc, member_id")
+                + " order by team_id, rn";
+        return fetchNative("findOldestPerTeam", sql, Collections.singletonMap("limit", limit)
+                , MemberRankingRepository::toMemberTeamDto);
+    }
+
+    /**
+     * 나이가 소속 팀 평균보다 많은 회원
+     */
+    public List<MemberTeamDto> findAboveTeamAverage() {
+        return fetchNative("findAboveTeamAverage", ABOVE_TEAM_AVERAGE_SQL, Collections.emptyMap()
+                , MemberRankingRepository::toMemberTeamDto);
+    }
+
+    public List<MemberTeamDto> findOldestPerTeamCorrelated(int limit) {
+        QMember memberSub = new QMember("memberSub");
+        JPAQuery<MemberTeamDto> query = selectMemberTeam()
+                .where(JPAExpressions
+                        .select(memberSub.count())
+                        .from(memberSub)
+                        .where(
+                                memberSub.team.eq(QMember.member.team)
+                                , memberSub.age.gt(QMember.member.age)
+                                        .or(memberSub.age.eq(QMember.member.age).and(memberSub.id.lt(QMember.member.id)))
+                        )
+                        .lt((long) limit))
+                .orderBy(QTeam.team.id.asc(), QMember.member.age.desc(), QMember.member.id.asc());
+        return QueryEvents.fetch(getRepositoryName(), "findOldestPerTeamCorrelated", null, query);
+    }
+
+    public List<MemberTeamDto> findAboveTeamAverageCorrelated() {
+        QMember memberSub = new QMember("memberSub");
+        JPAQuery<MemberTeamDto> query = selectMemberTeam()
+                .where(QMember.member.age.gt(JPAExpressions
+                        .select(memberSub.age.avg())
+                        .from(memberSub)
+                        .where(memberSub.team.eq(QMember.member.team))))
+                .orderBy(QTeam.team.id.asc(), QMember.member.age.desc(), QMember.member.id.asc());
+        return QueryEvents.fetch(getRepositoryName(), "findAboveTeamAverageCorrelated", null, query);
+    }
+
+    private JPAQuery<MemberTeamDto> selectMemberTeam() {
+        return select(new QMemberTeamDto(
+                QMember.member.id.as("memberId")
+                , QMember.member.username
+                , QMember.member.age
+                , QTeam.team.id.as("teamId")
+                , QTeam.team.name.as("teamName")
+        ))
+                .from(QMember.member)
+                .join(QMember.member.team, QTeam.team);
+    }
+
+    private static MemberTeamDto toMemberTeamDto(Object[] row) {
+        return new MemberTeamDto(
+                ((Number) row[0]).longValue()
+                , (String) row[1]
+                , ((Number) row[2]).intValue()
+                , ((Number) row[3]).longValue()
+                , (String) row[4]);
+    }
+}
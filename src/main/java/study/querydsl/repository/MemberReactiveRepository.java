@@ -0,0 +1,195 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.PropertyMapping;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberSearchPredicates;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * R2DBC 회원 검색 (JPA 경로와 같은 DB, 별도 커넥션 풀)
+ * - where 절은 JPA 경로와 같은 MemberSearchPredicates 조건식을 SQL 로 옮겨 만듦
+ *   (경로의 컬럼명은 Hibernate 매핑에서 조회, 옮길 수 없는 연산/경로면 IllegalArgumentException)
+ * - usernameContains 의 trigram 후보 축소는 적용하지 않고 like 로만 처리
+ * - 구독을 취소하면 커서와 커넥션을 풀에 반환 (fetch-size 는 드라이버에 주는 힌트)
+ * - ConnectionFactory 를 빈으로 노출하면 DataSource 자동 설정이 꺼지므로 이 저장소 안에서만 사용
+ * - JPA 영속성 컨텍스트/트랜잭션과 무관하므로 커밋된 데이터만 조회
+ */
+@Repository
+public class MemberReactiveRepository implements DisposableBean {
+
+    private static final String SELECT_SQL = "select m.member_id, m.username, m.age, t.team_id, t.name as team_name"
+            + " from member m left join team t on t.team_id = m.team_id";
+
+    // 조건 경로의 루트 엔티티 -> SELECT_SQL 의 테이블 별칭
+    private static final Map<Class<?>, String> TABLE_ALIASES = new HashMap<>();
+
+    static {
+        TABLE_ALIASES.put(Member.class, "m");
+        TABLE_ALIASES.put(Team.class, "t");
+    }
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final Map<Path<?>, String> columns = new ConcurrentHashMap<>();
+    private final int fetchSize;
+
+    public MemberReactiveRepository(MeterRegistry meterRegistry,
+                                    ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                    @Value("${member.reactive.h2-url:tcp://localhost/~/querydsl}") String h2Url,
+                                    @Value("${member.reactive.username:sa}") String username,
+                                    @Value("${member.reactive.password:sa}") String password,
+                                    @Value("${member.reactive.pool-size:10}") int poolSize,
+                                    @Value("${member.reactive.fetch-size:256}") int fetchSize) {
+        // r2dbc-h2 의 r2dbc:h2:<protocol> 형식은 file/mem 만 지원하므로 tcp 는 url 옵션으로 전달
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "h2")
+                .option(Option.valueOf("url"), h2Url)
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("member-reactive")
+                .initialSize(0)
+                .maxSize(poolSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.entityManagerFactory = entityManagerFactory;
+        this.fetchSize = fetchSize;
+
+        registerPoolGauge(meterRegistry, "member.reactive.pool.acquired", PoolMetrics::acquiredSize);
+        registerPoolGauge(meterRegistry, "member.reactive.pool.idle", PoolMetrics::idleSize);
+        registerPoolGauge(meterRegistry, "member.reactive.pool.pending", PoolMetrics::pendingAcquireSize);
+    }
+
+    public Flux<MemberTeamDto> search(MemberSearchCondition condition) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (Predicate predicate : MemberSearchPredicates.of(condition)) {
+            if (predicate != null) {
+                sql.append(params.isEmpty() ? " where " : " and ").append(toSql(predicate, params));
+            }
+        }
+        sql.append(" order by m.member_id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec
+                .map((row, metadata) -> new MemberTeamDto(
+                        row.get("member_id", Long.class)
+                        , row.get("username", String.class)
+                        , row.get("age", Integer.class)
+                        , row.get("team_id", Long.class)
+                        , row.get("team_name", String.class)))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private void registerPoolGauge(MeterRegistry meterRegistry, String name, ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(name, connectionPool, pool -> pool.getMetrics().map(value::applyAsDouble).orElse(0.0))
+                .register(meterRegistry);
+    }
+
+    /**
+     * 경로 op 상수 형태의 조건식 -> SQL, 상수는 이름 있는 파라미터(:p0, :p1 ...)로 바인딩
+     */
+    private String toSql(Predicate predicate, Map<String, Object> params) {
+        if (!(predicate instanceof Operation) || ((Operation<?>) predicate).getArgs().size() != 2
+                || !(((Operation<?>) predicate).getArg(0) instanceof Path)
+                || !(((Operation<?>) predicate).getArg(1) instanceof Constant)) {
+            throw new IllegalArgumentException("SQL 로 옮길 수 없는 조건: " + predicate);
+        }
+        Operation<?> operation = (Operation<?>) predicate;
+        String column = columnOf((Path<?>) operation.getArg(0));
+        Object value = ((Constant<?>) operation.getArg(1)).getConstant();
+        String name = "p" + params.size();
+
+        Operator operator = operation.getOperator();
+        if (operator == Ops.EQ) {
+            params.put(name, value instanceof Enum ? ((Enum<?>) value).name() : value);
+            return column + " = :" + name;
+        }
+        if (operator == Ops.GOE) {
+            params.put(name, value);
+            return column + " >= :" + name;
+        }
+        if (operator == Ops.LOE) {
+            params.put(name, value);
+            return column + " <= :" + name;
+        }
+        if (operator == Ops.STARTS_WITH) {
+            params.put(name, escapeLike((String) value) + "%");
+            return column + " like :" + name + " escape '!'";
+        }
+        if (operator == Ops.STRING_CONTAINS) {
+            params.put(name, "%" + escapeLike((String) value) + "%");
+            return column + " like :" + name + " escape '!'";
+        }
+        throw new IllegalArgumentException("SQL 로 옮길 수 없는 연산: " + predicate);
+    }
+
+    /**
+     * member.usernameLower -> m.username_lower, team.name -> t.name
+     */
+    private String columnOf(Path<?> path) {
+        return columns.computeIfAbsent(path, key -> {
+            Path<?> entity = key.getMetadata().getParent();
+            String alias = entity == null || !entity.getMetadata().isRoot() ? null : TABLE_ALIASES.get(entity.getType());
+            if (alias == null) {
+                throw new IllegalArgumentException("SQL 로 옮길 수 없는 경로: " + key);
+            }
+            EntityPersister persister = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class)
+                    .getMetamodel().entityPersister(entity.getType());
+            String[] names = ((PropertyMapping) persister).toColumns(key.getMetadata().getName());
+            if (names.length != 1) {
+                throw new IllegalArgumentException("단일 컬럼이 아닌 경로: " + key);
+            }
+            return alias + "." + names[0];
+        });
+    }
+
+    /**
+     * Querydsl startsWith/contains 와 같은 escape 문자('!')
+     */
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
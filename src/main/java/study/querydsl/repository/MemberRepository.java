@@ -5,10 +5,5 @@ import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import study.querydsl.entity.Member;
 import study.querydsl.repository.custom.MemberRepositoryCustom;
 
-import java.util.List;
-
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, QuerydslPredicateExecutor<Member> {
-
-    // select m from Member m where m.username := username
-    List<Member> findByUsername(String username);
 }
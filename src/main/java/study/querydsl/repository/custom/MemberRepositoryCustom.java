@@ -2,15 +2,21 @@ package study.querydsl.repository.custom;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.AgeBracketCountDto;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
 
 import java.util.List;
 
 public interface MemberRepositoryCustom {
+    // username -> id 는 near-cache(MemberUsernameCache) 에서 조회
+    List<Member> findByUsername(String username);
     List<MemberTeamDto> search(MemberSearchCondition condition);
+    List<List<MemberTeamDto>> searchBatch(List<MemberSearchCondition> conditions);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplexOpt(MemberSearchCondition condition, Pageable pageable);
+    List<AgeBracketCountDto> countByAgeBracket(MemberSearchCondition condition);
     // Page<MemberTeamDto> searchQ(MemberSearchCondition condition, Pageable pageable);
 }
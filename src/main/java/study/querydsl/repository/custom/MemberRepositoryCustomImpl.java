@@ -1,27 +1,42 @@
 package study.querydsl.repository.custom;
 
 import com.querydsl.core.QueryResults;
-import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import study.querydsl.cache.MemberUsernameCache;
+import study.querydsl.dto.AgeBracketCountDto;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QAgeBracketCountDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.QTeam;
+import study.querydsl.repository.support.MemberSearchPredicates;
+import study.querydsl.repository.support.QueryEvents;
+import study.querydsl.repository.support.UsernameContainsCandidates;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
+
+    private static final String REPOSITORY = "MemberRepositoryCustomImpl";
+
     /*
     public MemberRepositoryCustomImpl() {
         super(Member.class);
@@ -29,15 +44,33 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
     */
 
     // QuerydslRepositorySupport 를 사용하면서 주석처리
+    private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberUsernameCache memberUsernameCache;
+    private final ObjectProvider<UsernameContainsCandidates> usernameContainsCandidates;
+
+    public MemberRepositoryCustomImpl(EntityManager em, JPAQueryFactory queryFactory, MemberUsernameCache memberUsernameCache,
+                                      ObjectProvider<UsernameContainsCandidates> usernameContainsCandidates) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.memberUsernameCache = memberUsernameCache;
+        this.usernameContainsCandidates = usernameContainsCandidates;
+    }
 
-    public MemberRepositoryCustomImpl(EntityManager em) {
-        this.queryFactory = new JPAQueryFactory(em);
+    /**
+     * 캐시된 id 가 그 사이 삭제된 경우는 제외
+     */
+    @Override
+    public List<Member> findByUsername(String username) {
+        return memberUsernameCache.findIdsByUsername(username).stream()
+                .map(id -> em.find(Member.class, id))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         QMember.member.id.as("memberId")
                         , QMember.member.username
@@ -47,29 +80,22 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 ))
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
+                .where(conditionOf(condition));
+        return QueryEvents.fetch(REPOSITORY, "search", QueryEvents.shapeOf(condition), query);
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? QMember.member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? QTeam.team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? QMember.member.age.goe(ageGoe) : null;
-    }
-
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? QMember.member.age.goe(ageLoe) : null;
+    /**
+     * 여러 검색 조건을 하나의 트랜잭션(커넥션)에서 순서대로 실행
+     * - 조건 순서대로 결과 그룹 반환
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<List<MemberTeamDto>> searchBatch(List<MemberSearchCondition> conditions) {
+        List<List<MemberTeamDto>> results = new ArrayList<>(conditions.size());
+        for (MemberSearchCondition condition : conditions) {
+            results.add(search(condition));
+        }
+        return results;
     }
 
     /**
@@ -77,7 +103,7 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
      */
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDto> results = queryFactory
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         QMember.member.id.as("memberId")
                         , QMember.member.username
@@ -87,15 +113,11 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 ))
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                )
+                .where(conditionOf(condition))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetchResults();
+                .limit(pageable.getPageSize());
+        QueryResults<MemberTeamDto> results = QueryEvents.record(REPOSITORY, "searchPageSimple", QueryEvents.CONTENT
+                , QueryEvents.shapeOf(condition), query::toString, query::fetchResults);
 
         List<MemberTeamDto> content = results.getResults();
         long total = results.getTotal();
@@ -105,7 +127,7 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
 
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+        JPAQuery<MemberTeamDto> contentQuery = queryFactory
                 .select(new QMemberTeamDto(
                         QMember.member.id.as("memberId")
                         , QMember.member.username
@@ -115,27 +137,17 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 ))
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                )
+                .where(conditionOf(condition))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();
+                .limit(pageable.getPageSize());
+        List<MemberTeamDto> content = QueryEvents.fetch(REPOSITORY, "searchPageComplex", QueryEvents.shapeOf(condition), contentQuery);
 
-        long total = queryFactory
+        JPAQuery<Member> countQuery = queryFactory
                 .select(QMember.member)
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                )
-                .fetchCount();
+                .where(conditionOf(condition));
+        long total = QueryEvents.fetchCount(REPOSITORY, "searchPageComplex", QueryEvents.shapeOf(condition), countQuery);
 
         return new PageImpl<>(content, pageable, total);
     }
@@ -145,7 +157,7 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
      */
     @Override
     public Page<MemberTeamDto> searchPageComplexOpt(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+        JPAQuery<MemberTeamDto> contentQuery = queryFactory
                 .select(new QMemberTeamDto(
                         QMember.member.id.as("memberId")
                         , QMember.member.username
@@ -155,28 +167,20 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 ))
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                )
+                .where(conditionOf(condition))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();
+                .limit(pageable.getPageSize());
+        String shape = QueryEvents.shapeOf(condition);
+        List<MemberTeamDto> content = QueryEvents.fetch(REPOSITORY, "searchPageComplexOpt", shape, contentQuery);
 
         JPAQuery<Member> countQuery = queryFactory
                 .select(QMember.member)
                 .from(QMember.member)
                 .leftJoin(QMember.member.team, QTeam.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                );
-
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);
+                .where(conditionOf(condition));
+
+        return PageableExecutionUtils.getPage(content, pageable
+                , () -> QueryEvents.fetchCount(REPOSITORY, "searchPageComplexOpt", shape, countQuery));
     }
 
     /**
@@ -188,12 +192,7 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
     public Page<MemberTeamDto> searchQ(MemberSearchCondition condition, Pageable pageable) {
         JPQLQuery<MemberTeamDto> jpqlQuery = from(QMember.member)
                 .leftJoin(QMember.member.team)
-                .where(
-                        usernameEq(condition.getUsername())
-                        , teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                ).select(new QMemberTeamDto(
+                .where(conditionOf(condition)).select(new QMemberTeamDto(
                         QMember.member.id.as("memberId")
                         , QMember.member.username
                         , QMember.member.age
@@ -206,4 +205,33 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
         ...
     }
      */
+
+    /**
+     * 나이 구간별 회원 수
+     * - age_bracket 컬럼으로 group by 하므로 팀 조건이 없으면 인덱스만으로 집계
+     * - 팀명 조건이 있을 때만 team 조인
+     */
+    @Override
+    public List<AgeBracketCountDto> countByAgeBracket(MemberSearchCondition condition) {
+        JPAQuery<AgeBracketCountDto> query = queryFactory
+                .select(new QAgeBracketCountDto(QMember.member.ageBracket, QMember.member.count()))
+                .from(QMember.member);
+        if (StringUtils.hasText(condition.getTeamName())) {
+            query.leftJoin(QMember.member.team, QTeam.team);
+        }
+        query.where(conditionOf(condition))
+                .groupBy(QMember.member.ageBracket);
+
+        List<AgeBracketCountDto> result = new ArrayList<>(
+                QueryEvents.fetch(REPOSITORY, "countByAgeBracket", QueryEvents.shapeOf(condition), query));
+        result.sort(Comparator.comparing(AgeBracketCountDto::getAgeBracket, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    /**
+     * 검색 조건 + usernameContains 후보 id 조건 (trigram 색인이 있을 때)
+     */
+    private Predicate[] conditionOf(MemberSearchCondition condition) {
+        return MemberSearchPredicates.of(condition, usernameContainsCandidates.getIfAvailable());
+    }
 }
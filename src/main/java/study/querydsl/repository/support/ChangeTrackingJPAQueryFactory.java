@@ -0,0 +1,193 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import study.querydsl.cache.MemberDataVersion;
+import study.querydsl.change.ChangeVersionListener;
+import study.querydsl.change.ChangeVersions;
+import study.querydsl.entity.AgeBracket;
+import study.querydsl.entity.ChangeVersioned;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.OutboxEvent;
+import study.querydsl.outbox.Outbox;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 벌크 update/delete 에도 변경 버전과 outbox 이벤트를 남기는 JPAQueryFactory
+ * - update: 트랜잭션의 변경 버전을 대상 행 전체의 changeVersion 에 set,
+ *   BULK_UPDATED 이벤트 payload 에 set 한 속성 이름 목록 기록
+ * - Member update 가 age 를 set 하고 ageBracket 은 set 하지 않으면 새 나이 기준으로 ageBracket 도 같이 set
+ *   (벌크 update 는 @PreUpdate 를 거치지 않음)
+ * - delete: 같은 조건으로 id 를 먼저 조회해 tombstone 을 남긴 뒤 삭제, BULK_DELETED 이벤트 payload 에 삭제 건수 기록
+ *   (조회와 삭제 사이에 새로 들어온 행은 tombstone 없이 삭제될 수 있음)
+ * - update/delete 로 바뀐 행이 있으면 커밋 직후 데이터 버전(ETag) 증가 (엔티티는 DataVersionListener)
+ * - ChangeVersioned 가 아닌 엔티티는 기본 동작
+ */
+public class ChangeTrackingJPAQueryFactory extends JPAQueryFactory {
+
+    private static final String AGE = "age";
+    private static final String AGE_BRACKET = "ageBracket";
+
+    private final EntityManager entityManager;
+    private final ChangeVersions changeVersions;
+    private final Outbox outbox;
+    private final MemberDataVersion memberDataVersion;
+
+    public ChangeTrackingJPAQueryFactory(EntityManager entityManager, ChangeVersions changeVersions, Outbox outbox,
+                                         MemberDataVersion memberDataVersion) {
+        super(entityManager);
+        this.entityManager = entityManager;
+        this.changeVersions = changeVersions;
+        this.outbox = outbox;
+        this.memberDataVersion = memberDataVersion;
+    }
+
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        if (!ChangeVersioned.class.isAssignableFrom(path.getType())) {
+            return super.update(path);
+        }
+        return new JPAUpdateClause(entityManager, path) {
+            private final Set<String> properties = new TreeSet<>();
+            private Expression<?> age;
+
+            @Override
+            public <T> JPAUpdateClause set(Path<T> target, T value) {
+                record(target, value == null ? null : Expressions.constant(value));
+                return super.set(target, value);
+            }
+
+            @Override
+            public <T> JPAUpdateClause set(Path<T> target, Expression<? extends T> expression) {
+                record(target, expression);
+                return super.set(target, expression);
+            }
+
+            @Override
+            public <T> JPAUpdateClause setNull(Path<T> target) {
+                record(target, null);
+                return super.setNull(target);
+            }
+
+            @Override
+            public JPAUpdateClause set(List<? extends Path<?>> targets, List<?> values) {
+                for (int i = 0; i < targets.size(); i++) {
+                    Object value = values.get(i);
+                    record(targets.get(i), value == null || value instanceof Expression
+                            ? (Expression<?>) value : Expressions.constant(value));
+                }
+                return super.set(targets, values);
+            }
+
+            private void record(Path<?> target, Expression<?> expression) {
+                String name = target.getMetadata().getName();
+                properties.add(name);
+                if (AGE.equals(name)) {
+                    age = expression;
+                }
+            }
+
+            @Override
+            public long execute() {
+                if (Member.class.equals(path.getType()) && age != null && !properties.contains(AGE_BRACKET)) {
+                    properties.add(AGE_BRACKET);
+                    super.set(pathOf(path).getEnum(AGE_BRACKET, AgeBracket.class), ageBracketOf(age));
+                }
+                String changed = String.join(",", properties);
+                long version = changeVersions.next();
+                super.set(pathOf(path).getNumber("changeVersion", Long.class), version);
+                long count = super.execute();
+                if (count > 0) {
+                    outbox.append(ChangeVersionListener.entityType(path.getType()), null
+                            , OutboxEvent.BULK_UPDATED, changed, version);
+                    memberDataVersion.bumpAfterCommit();
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        if (!ChangeVersioned.class.isAssignableFrom(path.getType())) {
+            return super.delete(path);
+        }
+        return new JPADeleteClause(entityManager, path) {
+            private final List<Predicate> predicates = new ArrayList<>();
+
+            @Override
+            public JPADeleteClause where(Predicate... o) {
+                for (Predicate predicate : o) {
+                    if (predicate != null) {
+                        predicates.add(predicate);
+                    }
+                }
+                return super.where(o);
+            }
+
+            @Override
+            public long execute() {
+                NumberPath<Long> id = pathOf(path).getNumber("id", Long.class);
+                List<Long> ids = new JPAQuery<Void>(entityManager)
+                        .select(id)
+                        .from(path)
+                        .where(predicates.toArray(new Predicate[0]))
+                        .fetch();
+                String entityType = ChangeVersionListener.entityType(path.getType());
+                changeVersions.tombstone(entityType, ids);
+                long count = super.execute();
+                if (count > 0) {
+                    outbox.append(entityType, null, OutboxEvent.BULK_DELETED, String.valueOf(count), null);
+                    memberDataVersion.bumpAfterCommit();
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * 나이 -> AgeBracket 식
+     * - 상수면 미리 계산한 값, 그 외에는 CASE 식
+     * - CASE 결과값은 파라미터가 아닌 문자열 리터럴로 렌더링 (CASE 결과가 모두 파라미터면 타입 추론이 안 됨)
+     */
+    @SuppressWarnings("unchecked")
+    static Expression<AgeBracket> ageBracketOf(Expression<?> age) {
+        if (age instanceof Constant) {
+            return Expressions.constant(AgeBracket.of((Integer) ((Constant<?>) age).getConstant()));
+        }
+        NumberExpression<Integer> value = Expressions.asNumber((Expression<Integer>) age);
+        AgeBracket[] brackets = AgeBracket.values();
+        CaseBuilder.Cases<AgeBracket, SimpleExpression<AgeBracket>> cases = new CaseBuilder()
+                .when(value.loe(brackets[0].getMax())).then(literal(brackets[0]));
+        for (int i = 1; i < brackets.length - 1; i++) {
+            cases = cases.when(value.loe(brackets[i].getMax())).then(literal(brackets[i]));
+        }
+        return cases.otherwise(literal(brackets[brackets.length - 1]));
+    }
+
+    private static Expression<AgeBracket> literal(AgeBracket bracket) {
+        return Expressions.template(AgeBracket.class, "'" + bracket.name() + "'");
+    }
+
+    private static PathBuilder<?> pathOf(EntityPath<?> path) {
+        return new PathBuilder<>(path.getType(), path.getMetadata());
+    }
+}
@@ -0,0 +1,67 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchConditionPredicates;
+
+import java.util.Arrays;
+
+/**
+ * MemberSearchCondition -> where 조건 변환
+ * - MemberJpaRepository, MemberRepositoryCustomImpl, MemberTestRepository 공용
+ * - 실제 조건식은 MemberSearchCondition 의 필드 어노테이션(@Eq, @Goe, @Loe)으로
+ *   컴파일 시점에 생성된 MemberSearchConditionPredicates 가 만듦
+ * - null 을 포함한 배열을 그대로 where(Predicate...) 에 넘기면 null 은 무시됨
+ * - usernameContains 는 UsernameContainsCandidates(trigram 색인) 빈이 있으면 후보 id 조건(member_id in ...)을 추가
+ */
+public final class MemberSearchPredicates {
+
+    private MemberSearchPredicates() {
+    }
+
+    public static Predicate[] of(MemberSearchCondition condition) {
+        return MemberSearchConditionPredicates.of(condition);
+    }
+
+    /**
+     * @param usernameContainsCandidates 없으면(null) 후보 조건 없이 like 로만 처리
+     */
+    public static Predicate[] of(MemberSearchCondition condition, UsernameContainsCandidates usernameContainsCandidates) {
+        Predicate[] predicates = MemberSearchConditionPredicates.of(condition);
+        if (usernameContainsCandidates == null || !StringUtils.hasText(condition.getUsernameContains())) {
+            return predicates;
+        }
+        Predicate candidates = usernameContainsCandidates.candidates(condition.getUsernameContains());
+        if (candidates == null) {
+            return predicates;
+        }
+        Predicate[] withCandidates = Arrays.copyOf(predicates, predicates.length + 1);
+        withCandidates[predicates.length] = candidates;
+        return withCandidates;
+    }
+
+    /**
+     * 값이 있는 조건 필드 조합 ("[username,ageGoe]") - 미리 만들어 둔 문자열 반환
+     */
+    public static String shapeKey(MemberSearchCondition condition) {
+        return MemberSearchConditionPredicates.shapeKey(condition);
+    }
+
+    public static BooleanExpression usernameEq(String username) {
+        return MemberSearchConditionPredicates.username(username);
+    }
+
+    public static BooleanExpression teamNameEq(String teamName) {
+        return MemberSearchConditionPredicates.teamName(teamName);
+    }
+
+    public static BooleanExpression ageGoe(Integer ageGoe) {
+        return MemberSearchConditionPredicates.ageGoe(ageGoe);
+    }
+
+    public static BooleanExpression ageLoe(Integer ageLoe) {
+        return MemberSearchConditionPredicates.ageLoe(ageLoe);
+    }
+}
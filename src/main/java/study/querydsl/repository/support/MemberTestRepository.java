@@ -1,11 +1,9 @@
 package study.querydsl.repository.support;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
-import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
@@ -31,17 +29,20 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 .fetch();
     }
 
+    /**
+     * 페치 플랜(Member.team) 적용
+     */
+    public List<Member> basicSelectWithTeam() {
+        return selectFrom(QMember.member, Member.GRAPH_TEAM)
+                .fetch();
+    }
+
     /**
      * QueryDsl의 기본 기능으로 작성
      */
     public Page<Member> searchPageByApplyPage(MemberSearchCondition condition, Pageable pageable) {
         JPAQuery<Member> query = selectFrom(QMember.member)
-                .where(
-                        usernameEq(condition.getUsername())
-                        ,teamNameEq(condition.getTeamName())
-                        , ageGoe(condition.getAgeGoe())
-                        , ageLoe(condition.getAgeLoe())
-                );
+                .where(MemberSearchPredicates.of(condition));
 
         List<Member> content = getQuerydsl().applyPagination(pageable, query).fetch();
         return PageableExecutionUtils.getPage(content, pageable, query::fetchCount);
@@ -54,12 +55,7 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         return applyPagination(pageable, query ->
             query.selectFrom(QMember.member)
                     .leftJoin(QMember.member.team, QTeam.team)
-                    .where(
-                            usernameEq(condition.getUsername())
-                            ,teamNameEq(condition.getTeamName())
-                            , ageGoe(condition.getAgeGoe())
-                            , ageLoe(condition.getAgeLoe())
-                    )
+                    .where(MemberSearchPredicates.of(condition))
         );
     }
 
@@ -68,40 +64,14 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 // Content Query
                 contentQuery.selectFrom(QMember.member)
                         .leftJoin(QMember.member.team, QTeam.team)
-                        .where(
-                                usernameEq(condition.getUsername())
-                                ,teamNameEq(condition.getTeamName())
-                                , ageGoe(condition.getAgeGoe())
-                                , ageLoe(condition.getAgeLoe())
-                        )
+                        .where(MemberSearchPredicates.of(condition))
 
                 // Count Query
                 , countQuery ->
                         countQuery.select(QMember.member.id)
                                 .from(QMember.member)
                                 .leftJoin(QMember.member.team, QTeam.team)
-                                .where(
-                                        usernameEq(condition.getUsername())
-                                        , teamNameEq(condition.getTeamName())
-                                        , ageGoe(condition.getAgeGoe())
-                                        , ageLoe(condition.getAgeLoe())
-                                )
+                                .where(MemberSearchPredicates.of(condition))
         );
     }
-
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? QMember.member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? QTeam.team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? QMember.member.age.goe(ageGoe) : null;
-    }
-
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? QMember.member.age.goe(ageLoe) : null;
-    }
 }
@@ -0,0 +1,94 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.Fetchable;
+import com.querydsl.core.QueryResults;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 쿼리 실행을 QueryExecutionEvent 로 기록
+ * - JFR 이 꺼져 있거나 임계값 미만이면 JPQL 직렬화/해시 계산을 하지 않음
+ */
+public final class QueryEvents {
+
+    public static final String CONTENT = "content";
+    public static final String COUNT = "count";
+
+    // 실행 중인 리포지토리 메서드 (슬로우 쿼리 로그에서 호출 위치로 사용)
+    private static final ThreadLocal<String> ORIGIN = new ThreadLocal<>();
+
+    private QueryEvents() {
+    }
+
+    public static <T> List<T> fetch(String repository, String method, String shape, Fetchable<T> query) {
+        return record(repository, method, CONTENT, shape, query::toString, query::fetch);
+    }
+
+    public static long fetchCount(String repository, String method, String shape, Fetchable<?> query) {
+        return record(repository, method, COUNT, shape, query::toString, query::fetchCount);
+    }
+
+    public static <T> T record(String repository, String method, String phase, String shape,
+                               Supplier<String> jpql, Supplier<T> action) {
+        String previousOrigin = ORIGIN.get();
+        ORIGIN.set(repository + "." + method);
+        try {
+            return recordEvent(repository, method, phase, shape, jpql, action);
+        } finally {
+            if (previousOrigin == null) {
+                ORIGIN.remove();
+            } else {
+                ORIGIN.set(previousOrigin);
+            }
+        }
+    }
+
+    public static String currentOrigin() {
+        return ORIGIN.get();
+    }
+
+    private static <T> T recordEvent(String repository, String method, String phase, String shape,
+                                     Supplier<String> jpql, Supplier<T> action) {
+        QueryExecutionEvent event = new QueryExecutionEvent();
+        if (!event.isEnabled()) {
+            return action.get();
+        }
+
+        event.begin();
+        T result = action.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = repository;
+            event.method = method;
+            event.phase = phase;
+            event.shape = shape;
+            event.jpqlHash = jpql.get().hashCode();
+            event.rows = rowsOf(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * 검색 조건 형태 (값이 있는 필드 목록)
+     */
+    public static String shapeOf(MemberSearchCondition condition) {
+        return MemberSearchPredicates.shapeKey(condition);
+    }
+
+    private static long rowsOf(Object result) {
+        if (result instanceof QueryResults) {
+            return ((QueryResults<?>) result).getResults().size();
+        }
+        if (result instanceof List) {
+            return ((List<?>) result).size();
+        }
+        // count 쿼리는 결과 1건이 아니라 센 행 수를 기록
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        return result == null ? 0 : 1;
+    }
+}
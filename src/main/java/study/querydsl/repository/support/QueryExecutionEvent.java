@@ -0,0 +1,40 @@
+package study.querydsl.repository.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 리포지토리 쿼리 실행 JFR 이벤트
+ * - JMC 에서 GC/락 이벤트와 같은 타임라인으로 확인 가능
+ */
+@Name("study.querydsl.QueryExecution")
+@Label("Repository Query Execution")
+@Category({"Querydsl", "Repository"})
+@StackTrace(false)
+public class QueryExecutionEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Phase")
+    @Description("content / count")
+    String phase;
+
+    @Label("Query Shape")
+    @Description("값이 지정된 검색 조건 필드")
+    String shape;
+
+    @Label("JPQL Hash")
+    int jpqlHash;
+
+    @Label("Rows")
+    @Description("content: 조회한 행 수 / count: count 결과")
+    long rows;
+}
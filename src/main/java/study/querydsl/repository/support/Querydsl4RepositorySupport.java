@@ -18,7 +18,10 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 /**
  * Querydsl 4.x 버전에 맞춘 Querydsl 지원 라이브러리
@@ -29,6 +32,8 @@ org.springframework.data.jpa.repository.support.QuerydslRepositorySupport
  */
 @Repository
 public abstract class Querydsl4RepositorySupport {
+    private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
     private final Class domainClass;
     private Querydsl querydsl;
     private EntityManager entityManager;
@@ -48,7 +53,15 @@ public abstract class Querydsl4RepositorySupport {
         this.entityManager = entityManager;
         this.querydsl = new Querydsl(entityManager, new
                 PathBuilder<>(path.getType(), path.getMetadata()));
-        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    /**
+     * 벌크 update/delete 에도 변경 버전과 outbox 가 남도록 직접 생성하지 않고 빈을 주입
+     */
+    @Autowired
+    public void setQueryFactory(JPAQueryFactory queryFactory) {
+        Assert.notNull(queryFactory, "QueryFactory must not be null!");
+        this.queryFactory = queryFactory;
     }
 
     @PostConstruct
@@ -70,6 +83,10 @@ public abstract class Querydsl4RepositorySupport {
         return entityManager;
     }
 
+    protected String getRepositoryName() {
+        return getClass().getSimpleName();
+    }
+
     protected <T> JPAQuery<T> select(Expression<T> expr) {
         return getQueryFactory().select(expr);
     }
@@ -78,23 +95,69 @@ public abstract class Querydsl4RepositorySupport {
         return getQueryFactory().selectFrom(from);
     }
 
+    /**
+     * 페치 플랜 적용
+     * - 사용할 연관관계를 @NamedEntityGraph 로 선언하고, 해당 그래프를 javax.persistence.fetchgraph 힌트로 지정
+     * - 쿼리에 join fetch 를 추가하지 않으며, 그래프의 연관관계를 함께 로딩하는 방식(조인/추가 조회)은 Hibernate 가 결정
+     * - applyPagination(pageable, contentQuery) 의 count 쿼리는 힌트 없이 같은 조건으로 다시 만들어 실행
+     */
+    protected <T> JPAQuery<T> selectFrom(EntityPath<T> from, String entityGraph) {
+        return applyFetchPlan(selectFrom(from), entityGraph);
+    }
+
+    protected <T> JPAQuery<T> applyFetchPlan(JPAQuery<T> query, String entityGraph) {
+        return query.setHint(FETCH_GRAPH_HINT, getEntityManager().getEntityGraph(entityGraph));
+    }
+
+    /**
+     * 네이티브 SQL 조회 (윈도우 함수처럼 JPQL/Querydsl-JPA 로 표현할 수 없는 쿼리)
+     * - 결과 행(Object[])을 rowMapper 로 변환
+     */
+    protected <T> List<T> fetchNative(String method, String sql, Map<String, ?> parameters,
+                                      Function<Object[], T> rowMapper) {
+        return QueryEvents.record(getRepositoryName(), method, QueryEvents.CONTENT, null, () -> sql, () -> {
+            Query query = getEntityManager().createNativeQuery(sql);
+            parameters.forEach(query::setParameter);
+            List<?> rows = query.getResultList();
+            List<T> result = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                result.add(rowMapper.apply((Object[]) row));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 파티션별 상위 N 행 SQL
+     * - sourceSql 의 컬럼 뒤에 row_number() 순위(rn)를 붙이고 :limit 이하만 남김
+     * - 상관 서브쿼리(행마다 count/max 재계산)와 달리 파티션 정렬 한 번으로 처리
+     */
+    protected static String topNPerPartition(String sourceSql, String partitionBy, String orderBy) {
+        return "select * from ("
+                + "select src.*, row_number() over (partition by " + partitionBy + " order by " + orderBy + ") as rn"
+                + " from (" + sourceSql + ") src"
+                + ") ranked where rn <= :limit";
+    }
+
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery) {
         JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable,
-                jpaQuery).fetch();
+        // 페치 플랜 힌트(fetchgraph)는 쿼리에 붙어 있으므로 메타데이터만 복사해 count 쿼리 생성
+        JPAQuery<?> countQuery = new JPAQuery<>(getEntityManager(), jpaQuery.getMetadata().clone());
+        List<T> content = QueryEvents.fetch(getRepositoryName(), "applyPagination", null,
+                getQuerydsl().applyPagination(pageable, jpaQuery));
         return PageableExecutionUtils.getPage(content, pageable,
-                jpaQuery::fetchCount);
+                () -> QueryEvents.fetchCount(getRepositoryName(), "applyPagination", null, countQuery));
     }
 
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
             JPAQuery> countQuery) {
         JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable,
-                jpaContentQuery).fetch();
+        List<T> content = QueryEvents.fetch(getRepositoryName(), "applyPagination", null,
+                getQuerydsl().applyPagination(pageable, jpaContentQuery));
         JPAQuery countResult = countQuery.apply(getQueryFactory());
         return PageableExecutionUtils.getPage(content, pageable,
-                countResult::fetchCount);
+                () -> QueryEvents.fetchCount(getRepositoryName(), "applyPagination", null, countResult));
     }
 }
@@ -0,0 +1,13 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Predicate;
+
+/**
+ * usernameContains 검색어 -> 후보 회원 id 조건 (UsernameTrigramIndex)
+ * - 후보가 결과를 빠뜨리지 않는다고 확신할 수 없으면 null 을 반환하여 like 전체 스캔으로 처리
+ */
+@FunctionalInterface
+public interface UsernameContainsCandidates {
+
+    Predicate candidates(String contains);
+}
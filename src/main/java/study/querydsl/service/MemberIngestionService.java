@@ -0,0 +1,217 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscArrayQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회원 생성 write-behind 적재
+ * - 생성 요청을 고정 크기 큐에 담고, batchSize 건 또는 flushInterval 마다 하나의 트랜잭션으로 저장
+ * - 큐는 요청 스레드 여럿 -> 워커 하나이므로 락 없는 JCTools MpscArrayQueue (용량은 2의 거듭제곱으로 올림)
+ *   워커는 큐가 비면 flushInterval 동안 park 하고, 요청이 들어오면 깨움
+ * - 반환된 Future 는 커밋이 끝난 뒤 회원 id 로 완료
+ * - 배치 트랜잭션이 실패하면 한 건씩 다시 저장해 실패한 요청만 예외로 완료
+ * - 큐가 가득 차면 offerTimeout 동안 재시도 후 거절 (backpressure)
+ * - 종료 시 큐에 남은 요청을 모두 저장한 뒤 종료, 제한 시간 안에 저장하지 못한 요청은 예외로 완료
+ */
+@Slf4j
+@Service
+public class MemberIngestionService {
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private static final long OFFER_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final MessagePassingQueue<PendingMember> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final Thread worker;
+    private volatile boolean idle;
+    // submit(읽기) 과 shutdown(쓰기) 을 배타로 묶어 종료 이후 큐에 들어가는 요청이 없도록 함
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public MemberIngestionService(EntityManager em,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${member.ingestion.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${member.ingestion.batch-size:500}") int batchSize,
+                                  @Value("${member.ingestion.flush-interval-millis:50}") long flushIntervalMillis,
+                                  @Value("${member.ingestion.offer-timeout-millis:100}") long offerTimeoutMillis) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new MpscArrayQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.worker = new Thread(this::runLoop, "member-ingestion");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    public CompletableFuture<Long> submit(String username, int age, Long teamId) {
+        PendingMember pending = new PendingMember(username, age, teamId);
+        submitLock.readLock().lock();
+        try {
+            if (!running) {
+                pending.future.completeExceptionally(new RejectedExecutionException("적재 서비스 종료 중"));
+            } else if (offer(pending)) {
+                if (idle) {
+                    LockSupport.unpark(worker);
+                }
+            }
+        } finally {
+            submitLock.readLock().unlock();
+        }
+        return pending.future;
+    }
+
+    /**
+     * 큐가 가득 차 있으면 offerTimeout 동안 짧게 park 하며 재시도
+     */
+    private boolean offer(PendingMember pending) {
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (!queue.offer(pending)) {
+            if (Thread.currentThread().isInterrupted()) {
+                pending.future.completeExceptionally(new InterruptedException());
+                return false;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                pending.future.completeExceptionally(new RejectedExecutionException("적재 대기 큐 초과"));
+                return false;
+            }
+            LockSupport.parkNanos(OFFER_RETRY_NANOS);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        submitLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+
+        // 워커가 제한 시간 안에 끝나지 않았거나 중단된 경우 남은 요청을 예외로 완료
+        List<PendingMember> remaining = new ArrayList<>();
+        queue.drain(remaining::add);
+        rejectAll(remaining, new RejectedExecutionException("적재 서비스 종료로 저장되지 않음"));
+    }
+
+    private void runLoop() {
+        List<PendingMember> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (queue.drain(batch::add, batchSize) == 0) {
+                    awaitSubmit();
+                    continue;
+                }
+
+                // 첫 요청 이후 flushInterval 동안 batchSize 까지 모음
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && System.nanoTime() - deadline < 0
+                        && !Thread.currentThread().isInterrupted()) {
+                    if (queue.drain(batch::add, batchSize - batch.size()) == 0) {
+                        LockSupport.parkNanos(Math.min(OFFER_RETRY_NANOS, deadline - System.nanoTime()));
+                    }
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    rejectAll(batch, new InterruptedException());
+                    return;
+                }
+                flush(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 큐가 비어 있으면 submit 이 깨울 때까지 (최대 flushInterval) 대기
+     */
+    private void awaitSubmit() {
+        idle = true;
+        try {
+            if (queue.isEmpty() && running) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        } finally {
+            idle = false;
+        }
+    }
+
+    private void flush(List<PendingMember> batch) {
+        try {
+            List<Member> members = transactionTemplate.execute(status -> {
+                List<Member> saved = new ArrayList<>(batch.size());
+                for (PendingMember pending : batch) {
+                    Team team = pending.teamId != null ? em.getReference(Team.class, pending.teamId) : null;
+                    Member member = new Member(pending.username, pending.age, team);
+                    em.persist(member);
+                    saved.add(member);
+                }
+                return saved;
+            });
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(members.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("회원 적재 실패 username={}", batch.get(0).username, e);
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            // 실패한 요청 때문에 나머지까지 실패하지 않도록 한 건씩 다시 저장
+            log.warn("회원 배치 적재 실패 - 한 건씩 다시 저장 ({}건)", batch.size(), e);
+            for (PendingMember pending : batch) {
+                flush(Collections.singletonList(pending));
+            }
+        }
+    }
+
+    private static void rejectAll(List<PendingMember> pendings, Throwable cause) {
+        for (PendingMember pending : pendings) {
+            pending.future.completeExceptionally(cause);
+        }
+    }
+
+    private static class PendingMember {
+        private final String username;
+        private final int age;
+        private final Long teamId;
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        private PendingMember(String username, int age, Long teamId) {
+            this.username = username;
+            this.age = age;
+            this.teamId = teamId;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Commit;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,12 +40,11 @@ public class QueryDslBasicTest {
     public static final QTeam TEAM = QTeam.team;
     @PersistenceContext
     EntityManager em;
+    @Autowired
     JPAQueryFactory queryFactory;
 
     @BeforeEach
     public void before() {
-        queryFactory = new JPAQueryFactory(em);
-
         Team teamA = new Team("teamA");
         Team teamB = new Team("teamB");
         em.persist(teamA);
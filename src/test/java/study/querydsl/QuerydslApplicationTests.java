@@ -3,6 +3,7 @@ package study.querydsl;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.entity.Hello;
@@ -19,12 +20,14 @@ class QuerydslApplicationTests {
 	@PersistenceContext
 	EntityManager em;
 
+	@Autowired
+	JPAQueryFactory query;
+
 	@Test
 	void contextLoads() {
 		Hello hello = new Hello();
 		em.persist(hello);
 
-		JPAQueryFactory query = new JPAQueryFactory(em);
 		QHello qHello = new QHello("h");  // Alias
 
 		Hello result = query
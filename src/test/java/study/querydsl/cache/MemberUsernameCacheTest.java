@@ -0,0 +1,76 @@
+package study.querydsl.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 트랜잭션 밖에서 호출하므로 캐시를 거쳐 조회하고, 리스너의 무효화도 즉시 실행됨
+ */
+class MemberUsernameCacheTest {
+
+    MemberJpaRepository memberJpaRepository;
+    MemberUsernameCache memberUsernameCache;
+    MemberUsernameCacheListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        memberJpaRepository = Mockito.mock(MemberJpaRepository.class);
+        ObjectProvider<MemberJpaRepository> provider = Mockito.mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(memberJpaRepository);
+        when(memberJpaRepository.findIdsByUsername("old")).thenReturn(Collections.singletonList(1L));
+        when(memberJpaRepository.findIdsByUsername("new")).thenReturn(Collections.emptyList());
+        when(memberJpaRepository.findIdsByUsername("other")).thenReturn(Collections.singletonList(2L));
+
+        memberUsernameCache = new MemberUsernameCache(provider, 100, 600, 600);
+        listener = new MemberUsernameCacheListener(memberUsernameCache);
+    }
+
+    /**
+     * 같은 username 은 한 번만 DB 조회 (조회 결과가 없는 경우 포함)
+     */
+    @Test
+    public void cachesIdsAndMisses() {
+        Assertions.assertThat(memberUsernameCache.findIdsByUsername("old")).containsExactly(1L);
+        Assertions.assertThat(memberUsernameCache.findIdsByUsername("old")).containsExactly(1L);
+        Assertions.assertThat(memberUsernameCache.findIdsByUsername("new")).isEmpty();
+        Assertions.assertThat(memberUsernameCache.findIdsByUsername("new")).isEmpty();
+
+        verify(memberJpaRepository, times(1)).findIdsByUsername("old");
+        verify(memberJpaRepository, times(1)).findIdsByUsername("new");
+    }
+
+    /**
+     * username 변경 시 이전/새 username 만 무효화하고 나머지는 유지
+     */
+    @Test
+    public void usernameChangeInvalidatesOldAndNewOnly() {
+        memberUsernameCache.findIdsByUsername("old");
+        memberUsernameCache.findIdsByUsername("new");
+        memberUsernameCache.findIdsByUsername("other");
+
+        Member member = new Member("new", 10);
+        ReflectionTestUtils.setField(member, "loadedUsername", "old");
+        listener.onChange(member);
+
+        memberUsernameCache.findIdsByUsername("old");
+        memberUsernameCache.findIdsByUsername("new");
+        memberUsernameCache.findIdsByUsername("other");
+
+        verify(memberJpaRepository, times(2)).findIdsByUsername("old");
+        verify(memberJpaRepository, times(2)).findIdsByUsername("new");
+        verify(memberJpaRepository, times(1)).findIdsByUsername("other");
+    }
+}
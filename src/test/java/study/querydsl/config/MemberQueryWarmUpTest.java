@@ -0,0 +1,42 @@
+package study.querydsl.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.repository.MemberRepository;
+
+/**
+ * 워밍업 조합 선택과 제한 시간 초과 시 readiness 상태
+ */
+class MemberQueryWarmUpTest {
+
+    /**
+     * 조건 없음, 단일 조건 순으로 max-shapes 개만 실행
+     */
+    @Test
+    public void shapesTest() {
+        Assertions.assertThat(MemberQueryWarmUp.shapes(9)).containsExactly(0, 1, 2, 4, 8, 16, 32, 64, 128);
+        Assertions.assertThat(MemberQueryWarmUp.shapes(11)).endsWith(3, 5);
+    }
+
+    /**
+     * 제한 시간을 넘기면 UP 이 아니라 설정한 상태(OUT_OF_SERVICE)로 남음
+     */
+    @Test
+    public void timeoutIsNotReady() {
+        MemberRepository memberRepository = Mockito.mock(MemberRepository.class);
+        MemberQueryWarmUp warmUp = new MemberQueryWarmUp(memberRepository, Mockito.mock(PlatformTransactionManager.class)
+                , new SyncTaskExecutor(), -1, 1, 4, "OUT_OF_SERVICE");
+
+        warmUp.warmUp();
+
+        Health health = warmUp.health();
+        Assertions.assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        Assertions.assertThat(health.getDetails()).containsEntry("timeout", true).containsEntry("skippedShapes", 4);
+        Mockito.verifyNoInteractions(memberRepository);
+    }
+}
@@ -0,0 +1,68 @@
+package study.querydsl.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임계값(0ms) 이상 걸린 SQL 이 기록 스레드에서 로그로 출력되는지 확인
+ */
+class SlowQueryLogTest {
+
+    BlockingQueue<ILoggingEvent> events = new LinkedBlockingQueue<>();
+    Logger logger;
+    AppenderBase<ILoggingEvent> appender;
+    SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    public void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(SlowQueryLog.class);
+        appender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                events.add(event);
+            }
+        };
+        appender.start();
+        logger.addAppender(appender);
+
+        slowQueryLog = new SlowQueryLog(0, false, false, 16);
+        slowQueryLog.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowQueryLog.shutdown();
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void slowStatementIsLogged() throws InterruptedException {
+        DataSource dataSource = ProxyDataSourceBuilder
+                .create(new DriverManagerDataSource("jdbc:h2:mem:slow-query-log"))
+                .listener(new SlowQueryListener(slowQueryLog))
+                .build();
+
+        new JdbcTemplate(dataSource).queryForObject("select cast(? as int) + 1", Integer.class, 41);
+
+        ILoggingEvent event = events.poll(5, TimeUnit.SECONDS);
+        Assertions.assertThat(event).isNotNull();
+        Assertions.assertThat(event.getFormattedMessage())
+                .startsWith("slow query")
+                .contains("sql=select cast(? as int) + 1")
+                .contains("params=[41]");
+    }
+}
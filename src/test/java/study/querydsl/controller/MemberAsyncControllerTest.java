@@ -0,0 +1,62 @@
+package study.querydsl.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import study.querydsl.config.MemberSearchExecutor;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 스레드 1개 + 대기 큐 1개 실행기로 실행 중/대기 중 요청 이후의 요청이 503 + Retry-After 로 거절되는지 확인
+ * - 컨텍스트 없이 standalone MockMvc 로 실행
+ */
+class MemberAsyncControllerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MemberSearchExecutor memberSearchExecutor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void before() {
+        MemberJpaRepository memberJpaRepository = Mockito.mock(MemberJpaRepository.class);
+        Mockito.when(memberJpaRepository.search(Mockito.any(MemberSearchCondition.class))).thenAnswer(invocation -> {
+            release.await();
+            return Collections.emptyList();
+        });
+        memberSearchExecutor = new MemberSearchExecutor(new SimpleMeterRegistry(), 1, 1);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MemberAsyncController(memberJpaRepository
+                , Mockito.mock(MemberRepository.class), memberSearchExecutor)).build();
+    }
+
+    @AfterEach
+    public void after() {
+        release.countDown();
+        memberSearchExecutor.destroy();
+    }
+
+    @Test
+    public void rejectedWhenQueueIsFull() throws Exception {
+        // 실행 중 1건, 대기 1건
+        mockMvc.perform(get("/v1/members/async")).andExpect(request().asyncStarted());
+        mockMvc.perform(get("/v1/members/async")).andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/v1/members/async"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+}
@@ -0,0 +1,72 @@
+package study.querydsl.controller;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 벌크 update 는 outbox 폴링을 기다리지 않고 커밋 직후 ETag(데이터 버전)를 바꿈
+ * - 커밋된 데이터로 확인하므로 끝나면 정리
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerBulkUpdateETagTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                queryFactory.delete(QMember.member).where(QMember.member.username.eq("etagMember")).execute());
+    }
+
+    @Test
+    public void bulkUpdateChangesETag() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> em.persist(new Member("etagMember", 10)));
+
+        String eTag = mockMvc.perform(get("/v3/members").param("username", "etagMember"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v3/members").param("username", "etagMember").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        transactionTemplate.executeWithoutResult(status -> queryFactory
+                .update(QMember.member)
+                .set(QMember.member.age, 20)
+                .where(QMember.member.username.eq("etagMember"))
+                .execute());
+
+        String newETag = mockMvc.perform(get("/v3/members").param("username", "etagMember")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertThat(newETag).isNotEqualTo(eTag);
+    }
+}
@@ -0,0 +1,100 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import study.querydsl.cache.MemberDataVersion;
+import study.querydsl.cache.MemberPageResponseCache;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberChangeFeedRepository;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberParallelSearch;
+import study.querydsl.repository.MemberRankingRepository;
+import study.querydsl.repository.MemberReactiveRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /v3/members 응답 캐시 + ETag
+ * - 컨텍스트 없이 standalone MockMvc, 저장소는 mock
+ */
+class MemberControllerETagTest {
+
+    private MemberRepository memberRepository;
+    private MemberDataVersion memberDataVersion;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void before() {
+        memberRepository = Mockito.mock(MemberRepository.class);
+        Mockito.when(memberRepository.searchPageComplexOpt(Mockito.any(MemberSearchCondition.class), Mockito.any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(Collections.singletonList(
+                        new MemberTeamDto(1L, "member1", 10, 1L, "teamA")), invocation.getArgument(1), 1));
+        memberDataVersion = new MemberDataVersion();
+
+        MemberController controller = new MemberController(
+                Mockito.mock(MemberJpaRepository.class)
+                , memberRepository
+                , Mockito.mock(MemberRankingRepository.class)
+                , Mockito.mock(MemberChangeFeedRepository.class)
+                , Mockito.mock(MemberReactiveRepository.class)
+                , memberDataVersion
+                , new MemberPageResponseCache(new ObjectMapper(), 100)
+                , Mockito.mock(MemberParallelSearch.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    public void notModifiedWhenETagMatches() throws Exception {
+        String eTag = "\"" + memberDataVersion.current() + "\"";
+
+        mockMvc.perform(get("/v3/members").param("teamName", "teamA"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(jsonPath("$.content[0].username").value("member1"));
+
+        mockMvc.perform(get("/v3/members").param("teamName", "teamA").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // 같은 버전이면 직렬화된 응답 재사용
+        mockMvc.perform(get("/v3/members").param("teamName", "teamA"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        Mockito.verify(memberRepository, Mockito.times(1))
+                .searchPageComplexOpt(Mockito.any(MemberSearchCondition.class), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    public void versionBumpInvalidatesCache() throws Exception {
+        String oldETag = "\"" + memberDataVersion.current() + "\"";
+        mockMvc.perform(get("/v3/members")).andExpect(status().isOk());
+
+        String newETag = "\"" + memberDataVersion.bump() + "\"";
+
+        mockMvc.perform(get("/v3/members").header(HttpHeaders.IF_NONE_MATCH, oldETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, newETag));
+
+        Mockito.verify(memberRepository, Mockito.times(2))
+                .searchPageComplexOpt(Mockito.any(MemberSearchCondition.class), Mockito.any(Pageable.class));
+    }
+}
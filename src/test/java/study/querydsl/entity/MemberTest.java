@@ -2,9 +2,10 @@ package study.querydsl.entity;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.annotation.Commit;
+import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -12,7 +13,6 @@ import java.util.List;
 
 @SpringBootTest
 @Transactional
-@Commit
 public class MemberTest {
     @PersistenceContext
     EntityManager em;
@@ -48,4 +48,55 @@ public class MemberTest {
             System.out.println("-> member.team=" + member.getTeam());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 연관관계 편의 메서드 사용 시 Team.members 컬렉션 미초기화 확인
+     */
+    @Test
+    @Rollback
+    public void changeTeamWithoutInitializingMembers() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        Team findTeam = em.find(Team.class, teamA.getId());
+        Member member2 = new Member("member2", 20, findTeam);
+        em.persist(member2);
+
+        assertFalse(Hibernate.isInitialized(findTeam.getMembers()));
+        assertEquals(2, findTeam.getMembers().size());
+        assertFalse(Hibernate.isInitialized(findTeam.getMembers()));
+    }
+
+    /**
+     * 기존 팀 컬렉션을 초기화하지 않고 이동해도 flush 후 다시 읽은 기존/새 팀 members 에 반영
+     */
+    @Test
+    @Rollback
+    public void changeTeamUpdatesOldTeamMembers() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+
+        Member findMember = em.find(Member.class, member1.getId());
+        Team oldTeam = findMember.getTeam();
+        findMember.changeTeam(em.find(Team.class, teamB.getId()));
+        assertFalse(Hibernate.isInitialized(oldTeam.getMembers()));
+        em.flush();
+        em.clear();
+
+        Team findTeamA = em.find(Team.class, teamA.getId());
+        Team findTeamB = em.find(Team.class, teamB.getId());
+        assertEquals(1, findTeamA.getMembers().size());
+        assertFalse(findTeamA.getMembers().stream().anyMatch(member -> member.getId().equals(member1.getId())));
+        assertTrue(findTeamB.getMembers().stream().anyMatch(member -> member.getId().equals(member1.getId())));
+    }
+}
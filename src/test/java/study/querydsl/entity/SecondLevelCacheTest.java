@@ -0,0 +1,101 @@
+package study.querydsl.entity;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.stream.Collectors;
+
+/**
+ * 2차 캐시는 커밋 이후에 반영되므로 트랜잭션을 나누어 커밋하고, 끝나면 정리
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final String TEAM_MEMBERS = Team.class.getName() + ".members";
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Long teamAId;
+    Long teamBId;
+    Long memberId;
+
+    @BeforeEach
+    public void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        if (memberId == null) {
+            return;
+        }
+        tx.executeWithoutResult(status -> {
+            em.remove(em.find(Member.class, memberId));
+            em.remove(em.find(Team.class, teamAId));
+            em.remove(em.find(Team.class, teamBId));
+        });
+    }
+
+    /**
+     * 이전 팀의 members 컬렉션을 초기화하지 않고 팀을 옮겨도 캐시된 컬렉션에 남지 않음
+     * (hibernate.cache.auto_evict_collection_cache)
+     */
+    @Test
+    public void changeTeamEvictsCachedCollections() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("cacheTeamA");
+            Team teamB = new Team("cacheTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            Member member = new Member("cacheMember", 10, teamA);
+            em.persist(member);
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+            memberId = member.getId();
+        });
+
+        tx.executeWithoutResult(status -> {
+            Hibernate.initialize(em.find(Team.class, teamAId).getMembers());
+            Hibernate.initialize(em.find(Team.class, teamBId).getMembers());
+        });
+        Assertions.assertThat(cache.containsEntity(Team.class, teamAId)).isTrue();
+        Assertions.assertThat(cache.containsCollection(TEAM_MEMBERS, teamAId)).isTrue();
+
+        tx.executeWithoutResult(status -> {
+            Member member = em.find(Member.class, memberId);
+            member.changeTeam(em.find(Team.class, teamBId));
+        });
+
+        // read-write 전략은 제거된 항목 자리에 잠금 항목을 남기므로 containsCollection 대신 다시 읽은 결과로 확인
+        tx.executeWithoutResult(status -> {
+            Team teamA = em.find(Team.class, teamAId);
+            Team teamB = em.find(Team.class, teamBId);
+            Hibernate.initialize(teamA.getMembers());
+            Hibernate.initialize(teamB.getMembers());
+            Assertions.assertThat(teamA.getMembers()).isEmpty();
+            Assertions.assertThat(teamB.getMembers().stream().map(Member::getId).collect(Collectors.toList()))
+                    .containsExactly(memberId);
+        });
+    }
+}
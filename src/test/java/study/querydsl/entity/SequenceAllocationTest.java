@@ -0,0 +1,73 @@
+package study.querydsl.entity;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class SequenceAllocationTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Value("${member.sequence.allocation-size}")
+    int allocationSize;
+
+    /**
+     * N 건 저장 시 시퀀스 호출은 ceil(N / ALLOCATION_SIZE) 번
+     * - pooled-lo 는 시퀀스 값 v 로 v ~ v + ALLOCATION_SIZE - 1 을 채번하므로
+     *   먼저 현재 블록을 끝까지 소진한 뒤 측정 (앞선 테스트가 남긴 블록 영향 제거)
+     */
+    @Test
+    void insertsCallSequenceOncePerAllocation() {
+        Hello last = new Hello();
+        em.persist(last);
+        while (last.getId() % allocationSize != 0) {
+            last = new Hello();
+            em.persist(last);
+        }
+
+        int inserts = allocationSize * 2 + 1;
+        long before = sequenceBaseValue();
+        for (int i = 0; i < inserts; i++) {
+            em.persist(new Hello());
+        }
+        em.flush();
+        long calls = (sequenceBaseValue() - before) / allocationSize;
+
+        assertThat(calls).isEqualTo((inserts + allocationSize - 1) / allocationSize);
+    }
+
+    /**
+     * JDBC 배치 크기와 시퀀스 증가값은 member.sequence.allocation-size 에서 유도
+     */
+    @Test
+    void batchSizeAndIncrementFollowAllocationSize() {
+        assertThat(emf.getProperties().get(AvailableSettings.STATEMENT_BATCH_SIZE)).isEqualTo(allocationSize);
+        assertThat(jdbcTemplate.queryForObject(
+                "select increment from information_schema.sequences where sequence_name = 'MEMBER_SEQ'", Long.class))
+                .isEqualTo(allocationSize);
+    }
+
+    private long sequenceBaseValue() {
+        return jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'HELLO_SEQ'", Long.class);
+    }
+}
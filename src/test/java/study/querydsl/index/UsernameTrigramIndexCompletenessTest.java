@@ -0,0 +1,117 @@
+package study.querydsl.index;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 색인이 DB 와 어긋나면 후보로 좁히지 않고(like 처리) 다시 맞춘 뒤에만 좁히는지 확인
+ * - member.trigram.enabled 가 꺼져 있으므로 색인은 직접 만들고, 리스너 반영 없이 DB 만 변경해 불일치를 재현
+ *   (불일치는 outbox 이벤트의 change_version 워터마크로만 알 수 있으므로 observe 로 전달)
+ * - 재동기화는 SyncTaskExecutor 로 호출 스레드에서 바로 실행
+ */
+@SpringBootTest
+class UsernameTrigramIndexCompletenessTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    TransactionTemplate tx;
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        saveMember("trigramAlpha");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        tx.executeWithoutResult(status -> memberIds.forEach(id -> {
+            Member member = em.find(Member.class, id);
+            if (member != null) {
+                em.remove(member);
+            }
+        }));
+    }
+
+    @Test
+    public void fallsBackUntilResynced() {
+        UsernameTrigramIndex index = newIndex("");
+        index.load();
+        Assertions.assertThat(index.candidates("alpha")).isNotNull();
+
+        // 색인에 반영되지 않은 회원 (다른 인스턴스의 저장과 같은 상황 - outbox 이벤트로 change_version 만 전달됨)
+        Long missingId = saveMember("trigramAlphaMissing");
+        index.observe(em.find(Member.class, missingId).getChangeVersion());
+        Assertions.assertThat(index.candidates("alpha")).isNull();
+
+        Assertions.assertThat(index.candidates("alpha")).isNotNull();
+        Assertions.assertThat(index.lookup("alpha")).contains(missingId);
+    }
+
+    @Test
+    public void neverNarrowsInsideWriteTransaction() {
+        UsernameTrigramIndex index = newIndex("");
+        index.load();
+
+        tx.executeWithoutResult(status ->
+                Assertions.assertThat(index.candidates("alpha")).isNull());
+    }
+
+    @Test
+    public void staleSnapshotIsDiscarded() {
+        String snapshot = tempDir.resolve("username.idx").toString();
+        UsernameTrigramIndex first = newIndex(snapshot);
+        first.load();
+        first.close();
+
+        // 스냅샷 저장 이후 삭제된 회원 (change_version 으로는 따라잡을 수 없음)
+        Long deletedId = memberIds.get(0);
+        tx.executeWithoutResult(status -> em.remove(em.find(Member.class, deletedId)));
+
+        UsernameTrigramIndex restored = newIndex(snapshot);
+        restored.load();
+
+        Assertions.assertThat(restored.isComplete()).isTrue();
+        Assertions.assertThat(restored.lookup("alpha")).doesNotContain(deletedId);
+    }
+
+    private UsernameTrigramIndex newIndex(String snapshotPath) {
+        return new UsernameTrigramIndex(queryFactory, new SyncTaskExecutor(), snapshotPath, 10000, 10000);
+    }
+
+    private Long saveMember(String username) {
+        Long id = tx.execute(status -> {
+            Member member = new Member(username, 10);
+            em.persist(member);
+            return member.getId();
+        });
+        memberIds.add(id);
+        return id;
+    }
+}
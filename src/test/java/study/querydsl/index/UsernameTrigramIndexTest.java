@@ -0,0 +1,70 @@
+package study.querydsl.index;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class UsernameTrigramIndexTest {
+
+    UsernameTrigramIndex index = new UsernameTrigramIndex(null, null, "", 10000, 10000);
+
+    /**
+     * 검색어의 모든 trigram 을 포함하는 id 만 후보 (대소문자 무시)
+     */
+    @Test
+    public void lookupTest() {
+        index.add(3L, "kimMember");
+        index.add(1L, "leeMember");
+        index.add(2L, "kimTeam");
+        index.add(1L, "leeMember");
+
+        Assertions.assertThat(index.lookup("MEMBER")).containsExactly(1L, 3L);
+        Assertions.assertThat(index.lookup("kim")).containsExactly(2L, 3L);
+        Assertions.assertThat(index.lookup("park")).isEmpty();
+    }
+
+    /**
+     * username 이 그대로인 수정은 posting 을 다시 쓰지 않고, 바뀐 수정만 새 trigram 에 추가
+     */
+    @Test
+    public void updateTest() {
+        index.add(1L, "kimMember", 1L);
+        index.add(2L, "leeMember", 2L);
+
+        index.update(1L, "kimMember", "kimMember", 3L);
+        Assertions.assertThat(index.lookup("kim")).containsExactly(1L);
+
+        index.update(1L, "kimMember", "parkMember", 4L);
+        Assertions.assertThat(index.lookup("park")).containsExactly(1L);
+        Assertions.assertThat(index.lookup("member")).containsExactly(1L, 2L);
+    }
+
+    /**
+     * 커밋된 것으로 알려진 change_version 까지 반영해야 완전한 색인 (DB 조회 없음)
+     */
+    @Test
+    public void watermarkTest() {
+        index.add(1L, "kimMember", 1L);
+        Assertions.assertThat(index.isComplete()).isTrue();
+
+        index.observe(2L);
+        Assertions.assertThat(index.isComplete()).isFalse();
+
+        index.update(1L, "kimMember", "kimMember", 2L);
+        Assertions.assertThat(index.isComplete()).isTrue();
+    }
+
+    /**
+     * 중간 삽입 후에도 posting list 정렬 유지
+     */
+    @Test
+    public void postingListTest() {
+        PostingList list = new PostingList();
+        list.add(100L);
+        list.add(300L);
+        list.add(200L);
+        list.add(300L);
+        list.add(1L << 40);
+
+        Assertions.assertThat(list.toArray()).containsExactly(100L, 200L, 300L, 1L << 40);
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.loadtest;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchConditionPredicates;
+
+import java.util.Arrays;
+
+class LoadTestRunnerTest {
+
+    /**
+     * username-match 로 고르지 않은 회원명 조건 필드가 들어간 조합은 제외
+     */
+    @Test
+    public void shapesTest() {
+        int[] exact = LoadTestRunner.shapes("exact");
+        Assertions.assertThat(exact).hasSize(MemberSearchConditionPredicates.SHAPE_COUNT / 8);
+        Assertions.assertThat(Arrays.stream(exact).mapToObj(MemberSearchConditionPredicates::shapeKey))
+                .contains("[username,ageBracket]")
+                .noneMatch(key -> key.contains("usernamePrefix") || key.contains("usernameContains"));
+
+        Assertions.assertThat(LoadTestRunner.shapes("all")).hasSize(MemberSearchConditionPredicates.SHAPE_COUNT);
+    }
+}
@@ -0,0 +1,56 @@
+package study.querydsl.loadtest;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.within;
+
+class ZipfDistributionTest {
+
+    private static final int SAMPLES = 1_000_000;
+
+    /**
+     * rank k 의 빈도는 1 / (k^s * H(n, s)) 에 수렴
+     */
+    @Test
+    public void frequenciesFollowZipf() {
+        int n = 100;
+        double exponent = 1.0;
+        long[] counts = sample(new ZipfDistribution(n, exponent), n);
+
+        double harmonic = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            harmonic += 1.0 / Math.pow(rank, exponent);
+        }
+        for (int rank = 1; rank <= 10; rank++) {
+            double expected = 1.0 / (Math.pow(rank, exponent) * harmonic);
+            double actual = (double) counts[rank - 1] / SAMPLES;
+            Assertions.assertThat(actual).as("rank %d", rank).isCloseTo(expected, within(expected * 0.05));
+        }
+    }
+
+    /**
+     * exponent 0 이면 균등 분포
+     */
+    @Test
+    public void zeroExponentIsUniform() {
+        int n = 10;
+        long[] counts = sample(new ZipfDistribution(n, 0), n);
+
+        for (long count : counts) {
+            Assertions.assertThat((double) count / SAMPLES).isCloseTo(0.1, within(0.005));
+        }
+    }
+
+    private long[] sample(ZipfDistribution distribution, int n) {
+        Random random = new Random(42);
+        long[] counts = new long[n];
+        for (int i = 0; i < SAMPLES; i++) {
+            // 범위를 벗어나면 ArrayIndexOutOfBoundsException
+            counts[distribution.sample(random)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,171 @@
+package study.querydsl.outbox;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.cache.MemberDataVersion;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.OutboxEvent;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.QOutboxEvent;
+import study.querydsl.entity.QTeam;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * outbox 는 커밋된 트랜잭션에만 남으므로 롤백 없이 커밋 후 정리
+ * - 테스트 설정에서 스케줄러가 꺼져 있으므로 (member.scheduling.enabled=false) 직접 생성해 poll 호출
+ */
+@SpringBootTest
+class OutboxPollerTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    ObjectProvider<OutboxSubscriber> subscribers;
+
+    @Autowired
+    MemberDataVersion memberDataVersion;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            queryFactory.delete(QMember.member).where(QMember.member.username.startsWith("outbox")).execute();
+            queryFactory.delete(QTeam.team).where(QTeam.team.name.eq("outboxTeam")).execute();
+        });
+    }
+
+    /**
+     * 엔티티 저장과 벌크 update 가 같은 트랜잭션에서 outbox 에 남고, 폴링 후 발행 처리
+     */
+    @Test
+    public void pollTest() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long afterId = lastEventId();
+        long version = memberDataVersion.current();
+
+        Long memberId = transactionTemplate.execute(status -> {
+            Team team = new Team("outboxTeam");
+            em.persist(team);
+            Member member = new Member("outbox1", 10, team);
+            em.persist(member);
+            em.flush();
+            queryFactory
+                    .update(QMember.member)
+                    .set(QMember.member.age, 30)
+                    .where(QMember.member.username.eq("outbox1"))
+                    .execute();
+            return member.getId();
+        });
+
+        List<OutboxEvent> events = eventsAfter(afterId);
+        Assertions.assertThat(events).extracting("aggregateType", "aggregateId", "eventType", "payload").containsExactly(
+                Assertions.tuple("TEAM", events.get(0).getAggregateId(), OutboxEvent.CREATED, null)
+                , Assertions.tuple("MEMBER", memberId, OutboxEvent.CREATED, "outbox1")
+                , Assertions.tuple("MEMBER", null, OutboxEvent.BULK_UPDATED, "age,ageBracket"));
+        Assertions.assertThat(events).allMatch(event -> event.getPublishedAt() == null);
+
+        // 데이터 버전은 폴링을 기다리지 않고 커밋 직후 증가
+        Assertions.assertThat(memberDataVersion.current()).isGreaterThan(version);
+        new OutboxPoller(queryFactory, transactionManager, subscribers, new SimpleMeterRegistry(), 500, 24).poll();
+
+        Assertions.assertThat(eventsAfter(afterId)).allMatch(event -> event.getPublishedAt() != null);
+    }
+
+    /**
+     * 롤백된 변경은 outbox 에 남지 않음
+     */
+    @Test
+    public void rollbackTest() {
+        long afterId = lastEventId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.persist(new Member("outbox2", 10));
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertThat(eventsAfter(afterId)).isEmpty();
+    }
+
+    /**
+     * 세션을 재사용(OSIV)할 때 롤백한 트랜잭션의 행이 같은 세션의 다음 커밋에 끼어들지 않음
+     */
+    @Test
+    public void rollbackThenCommitInSameEntityManagerTest() {
+        long afterId = lastEventId();
+        EntityManager shared = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(shared));
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.executeWithoutResult(status -> {
+                em.persist(new Member("outbox5", 10));
+                em.flush();
+                status.setRollbackOnly();
+            });
+            transactionTemplate.executeWithoutResult(status -> em.persist(new Member("outbox6", 10)));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            shared.close();
+        }
+
+        Assertions.assertThat(eventsAfter(afterId)).extracting("payload").containsExactly("outbox6");
+    }
+
+    /**
+     * 트랜잭션 안에서는 flush 후에도 outbox 에 쓰지 않고 커밋 직전에 한 번에 insert
+     */
+    @Test
+    public void appendAtCommitTest() {
+        long afterId = lastEventId();
+
+        int beforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            em.persist(new Member("outbox3", 10));
+            em.persist(new Member("outbox4", 20));
+            em.flush();
+            return eventsAfter(afterId).size();
+        });
+
+        Assertions.assertThat(beforeCommit).isZero();
+        Assertions.assertThat(eventsAfter(afterId)).extracting("payload").containsExactly("outbox3", "outbox4");
+    }
+
+    private long lastEventId() {
+        Long id = queryFactory
+                .select(QOutboxEvent.outboxEvent.id.max())
+                .from(QOutboxEvent.outboxEvent)
+                .fetchOne();
+        return id == null ? 0 : id;
+    }
+
+    private List<OutboxEvent> eventsAfter(long afterId) {
+        return queryFactory
+                .selectFrom(QOutboxEvent.outboxEvent)
+                .where(QOutboxEvent.outboxEvent.id.gt(afterId))
+                .orderBy(QOutboxEvent.outboxEvent.id.asc())
+                .fetch();
+    }
+}
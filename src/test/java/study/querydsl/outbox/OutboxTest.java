@@ -0,0 +1,81 @@
+package study.querydsl.outbox;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.OutboxEvent;
+import study.querydsl.entity.QOutboxEvent;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * member.outbox.enabled=false 인 Outbox 는 outbox_event 에 쓰지 않고 커밋 직후 구독자에게 바로 전달
+ */
+@SpringBootTest
+class OutboxTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Test
+    public void disabledPublishesAfterCommitTest() {
+        List<OutboxEvent> received = new ArrayList<>();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("recorder", (OutboxSubscriber) received::addAll);
+        Outbox outbox = new Outbox(jdbcTemplate, entityManagerFactory
+                , beanFactory.getBeanProvider(OutboxSubscriber.class), false);
+        long afterId = lastEventId();
+
+        int beforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            outbox.append("MEMBER", null, OutboxEvent.BULK_UPDATED, "username", 1L);
+            return received.size();
+        });
+
+        Assertions.assertThat(beforeCommit).isZero();
+        Assertions.assertThat(received).extracting("eventType", "payload")
+                .containsExactly(Assertions.tuple(OutboxEvent.BULK_UPDATED, "username"));
+        Assertions.assertThat(lastEventId()).isEqualTo(afterId);
+    }
+
+    @Test
+    public void disabledRollbackPublishesNothingTest() {
+        List<OutboxEvent> received = new ArrayList<>();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("recorder", (OutboxSubscriber) received::addAll);
+        Outbox outbox = new Outbox(jdbcTemplate, entityManagerFactory
+                , beanFactory.getBeanProvider(OutboxSubscriber.class), false);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outbox.append("MEMBER", null, OutboxEvent.BULK_UPDATED, "username", 1L);
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertThat(received).isEmpty();
+    }
+
+    private long lastEventId() {
+        Long id = queryFactory
+                .select(QOutboxEvent.outboxEvent.id.max())
+                .from(QOutboxEvent.outboxEvent)
+                .fetchOne();
+        return id == null ? 0 : id;
+    }
+}
@@ -0,0 +1,134 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.change.ChangeVersions;
+import study.querydsl.dto.MemberChangeDto;
+import study.querydsl.dto.MemberChangeFeedDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.QTeam;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 변경 피드는 커밋된 변경만 반환하므로 트랜잭션 롤백 없이 커밋 후 정리
+ */
+@SpringBootTest
+class MemberChangeFeedRepositoryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberChangeFeedRepository memberChangeFeedRepository;
+
+    @Autowired
+    ChangeVersions changeVersions;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            queryFactory.delete(QMember.member).where(QMember.member.username.startsWith("change")).execute();
+            queryFactory.delete(QTeam.team).where(QTeam.team.name.eq("changeTeam")).execute();
+        });
+    }
+
+    /**
+     * 저장 -> 벌크 수정 -> 삭제 순서대로 버전이 증가하고, 삭제는 tombstone 으로 전달
+     * - 한 트랜잭션의 변경은 모두 같은 버전이고 (entityType, id) 순서
+     */
+    @Test
+    public void findChangesTest() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long since = changeVersions.next();
+
+        Long[] ids = transactionTemplate.execute(status -> {
+            Team team = new Team("changeTeam");
+            em.persist(team);
+            Member member1 = new Member("change1", 10, team);
+            Member member2 = new Member("change2", 20, team);
+            em.persist(member1);
+            em.persist(member2);
+            return new Long[]{team.getId(), member1.getId(), member2.getId()};
+        });
+
+        MemberChangeFeedDto created = memberChangeFeedRepository.findChanges(since, "", 0, 100);
+        Assertions.assertThat(created.getChanges()).extracting("entityType", "id").containsExactly(
+                Assertions.tuple("MEMBER", ids[1])
+                , Assertions.tuple("MEMBER", ids[2])
+                , Assertions.tuple("TEAM", ids[0]));
+        Assertions.assertThat(created.getChanges()).extracting("version").containsOnly(created.getNextSince());
+        Assertions.assertThat(created.isHasMore()).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> queryFactory
+                .update(QMember.member)
+                .set(QMember.member.age, 30)
+                .where(QMember.member.id.in(ids[1], ids[2]))
+                .execute());
+        transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Member.class, ids[1])));
+
+        MemberChangeFeedDto changed = memberChangeFeedRepository.findChanges(created.getNextSince()
+                , created.getNextAfterType(), created.getNextAfterId(), 100);
+        Assertions.assertThat(changed.getChanges()).extracting("entityType", "id", "deleted").containsExactly(
+                Assertions.tuple("MEMBER", ids[2], false)
+                , Assertions.tuple("MEMBER", ids[1], true));
+        Assertions.assertThat(changed.getChanges().get(0).getMember().getAge()).isEqualTo(30);
+    }
+
+    /**
+     * limit 1 로 이어서 조회해도 같은 순서로 빠짐없이 반환
+     * - 같은 버전 안에서 종류가 바뀌는 지점도 건너뛰지 않음
+     */
+    @Test
+    public void findChangesPagingTest() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long since = changeVersions.next();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("changeTeam");
+            em.persist(team);
+            em.persist(new Member("change1", 10, team));
+            em.persist(new Member("change2", 20, team));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory
+                    .update(QMember.member)
+                    .set(QMember.member.age, 40)
+                    .where(QMember.member.username.startsWith("change"))
+                    .execute();
+            em.persist(new Team("changeTeam"));
+        });
+
+        List<MemberChangeDto> all = memberChangeFeedRepository.findChanges(since, "", 0, 100).getChanges();
+
+        List<MemberChangeDto> paged = new ArrayList<>();
+        MemberChangeFeedDto page = memberChangeFeedRepository.findChanges(since, "", 0, 1);
+        paged.addAll(page.getChanges());
+        while (page.isHasMore()) {
+            page = memberChangeFeedRepository.findChanges(page.getNextSince(), page.getNextAfterType(), page.getNextAfterId(), 1);
+            paged.addAll(page.getChanges());
+        }
+
+        // 두 번째 트랜잭션의 벌크 수정된 두 회원과 새 팀은 같은 버전
+        Assertions.assertThat(all).extracting("entityType").containsExactly("TEAM", "MEMBER", "MEMBER", "TEAM");
+        Assertions.assertThat(all.subList(1, 4)).extracting("version").containsOnly(all.get(1).getVersion());
+        Assertions.assertThat(paged).isEqualTo(all);
+    }
+}
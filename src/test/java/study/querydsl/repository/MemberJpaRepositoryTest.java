@@ -1,5 +1,6 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,12 +10,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.AgeBracket;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @SpringBootTest
@@ -27,6 +31,9 @@ class MemberJpaRepositoryTest {
     @Autowired
     MemberJpaRepository memberJpaRepository;
 
+    @Autowired
+    JPAQueryFactory queryFactory;
+
     /**
      * 일반 JPA Repository 기능 활용
      */
@@ -93,4 +100,102 @@ class MemberJpaRepositoryTest {
 
         Assertions.assertThat(result).extracting("username").containsExactly("member4");
     }
-}
\ No newline at end of file
+
+    /**
+     * member_id 범위 분할 조회 결과가 전체 조회와 동일한지 확인
+     * - 다른 테스트가 커밋한 회원이 섞이지 않도록 이 테스트에서 저장한 id 범위와 팀으로 한정
+     */
+    @Test
+    public void searchInIdRangeTest() {
+        Team team = new Team("rangeTeam");
+        em.persist(team);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Member member = new Member("member" + i, i, team);
+            em.persist(member);
+            ids.add(member.getId());
+        }
+        em.flush();
+
+        Long minId = ids.get(0);
+        Long maxId = ids.get(ids.size() - 1);
+        long middle = (minId + maxId) / 2;
+
+        Tuple range = memberJpaRepository.findIdRange();
+        Assertions.assertThat(range.get(QMember.member.id.min())).isLessThanOrEqualTo(minId);
+        Assertions.assertThat(range.get(QMember.member.id.max())).isGreaterThanOrEqualTo(maxId);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("rangeTeam");
+        List<MemberTeamDto> first = memberJpaRepository.searchInIdRange(condition, minId, middle);
+        List<MemberTeamDto> second = memberJpaRepository.searchInIdRange(condition, middle, maxId + 1);
+
+        Assertions.assertThat(first.size() + second.size()).isEqualTo(10);
+        Assertions.assertThat(first).extracting("memberId").isSorted();
+        Assertions.assertThat(second).extracting("memberId").isSorted();
+    }
+
+    /**
+     * 페치 플랜(Member.team) 적용
+     */
+    @Test
+    public void findAllWithTeamTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        List<Member> result = memberJpaRepository.findAllWithTeam();
+
+        Assertions.assertThat(result).hasSize(1);
+        Assertions.assertThat(em.getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(result.get(0).getTeam())).isTrue();
+    }
+
+    /**
+     * 벌크 나이 증가 시 age_bracket 도 새 나이 기준으로 갱신
+     */
+    @Test
+    public void bulkAddAgeTest() {
+        Member member1 = new Member("member1", 20);
+        Member member2 = new Member("member2", 30);
+        memberJpaRepository.save(member1);
+        memberJpaRepository.save(member2);
+        em.flush();
+        Assertions.assertThat(member1.getAgeBracket()).isEqualTo(AgeBracket.AGE_0_20);
+
+        long count = memberJpaRepository.bulkAddAge(1);
+
+        Assertions.assertThat(count).isEqualTo(2);
+        Assertions.assertThat(memberJpaRepository.findById(member1.getId()).get().getAgeBracket()).isEqualTo(AgeBracket.AGE_21_30);
+        Assertions.assertThat(memberJpaRepository.findById(member2.getId()).get().getAgeBracket()).isEqualTo(AgeBracket.AGE_31_40);
+    }
+
+    /**
+     * age 를 set 하는 벌크 update 는 상수/식 모두 age_bracket 도 같이 갱신
+     */
+    @Test
+    public void bulkUpdateAgeSetsAgeBracketTest() {
+        Member member1 = new Member("member1", 20);
+        Member member2 = new Member("member2", 30);
+        memberJpaRepository.save(member1);
+        memberJpaRepository.save(member2);
+        em.flush();
+
+        queryFactory
+                .update(QMember.member)
+                .set(QMember.member.age, 35)
+                .where(QMember.member.id.eq(member1.getId()))
+                .execute();
+        queryFactory
+                .update(QMember.member)
+                .set(QMember.member.age, QMember.member.age.multiply(2))
+                .where(QMember.member.id.eq(member2.getId()))
+                .execute();
+        em.clear();
+
+        Assertions.assertThat(memberJpaRepository.findById(member1.getId()).get().getAgeBracket()).isEqualTo(AgeBracket.AGE_31_40);
+        Assertions.assertThat(memberJpaRepository.findById(member2.getId()).get().getAgeBracket()).isEqualTo(AgeBracket.AGE_41_OVER);
+    }
+}
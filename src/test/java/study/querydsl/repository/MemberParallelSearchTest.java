@@ -0,0 +1,82 @@
+package study.querydsl.repository;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 구간은 각자의 커넥션에서 조회하므로 데이터를 커밋한 뒤 검색하고, 끝나면 정리
+ */
+@SpringBootTest
+class MemberParallelSearchTest {
+
+    private static final String TEAM_NAME = "parallelTeam";
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Long teamId;
+
+    @AfterEach
+    public void cleanUp() {
+        if (teamId == null) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+            em.remove(em.find(Team.class, teamId));
+        });
+    }
+
+    /**
+     * 스레드보다 구간이 많아도 (호출 스레드에서 실행) 전체 검색과 같은 결과를 id 순으로 반환
+     */
+    @Test
+    public void searchMatchesSequentialSearch() {
+        teamId = new TransactionTemplate(transactionManager).execute(status -> {
+            Team team = new Team(TEAM_NAME);
+            em.persist(team);
+            for (int i = 0; i < 20; i++) {
+                em.persist(new Member("parallel" + i, i, team));
+            }
+            return team.getId();
+        });
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName(TEAM_NAME);
+        MemberParallelSearch parallelSearch = new MemberParallelSearch(memberJpaRepository, 1);
+        try {
+            List<MemberTeamDto> result = parallelSearch.search(condition, 4);
+
+            Assertions.assertThat(result).hasSize(20);
+            Assertions.assertThat(result).extracting("memberId").isSorted();
+            List<Long> expected = memberJpaRepository.search(condition).stream()
+                    .map(MemberTeamDto::getMemberId)
+                    .collect(Collectors.toList());
+            Assertions.assertThat(result).extracting("memberId").containsExactlyInAnyOrderElementsOf(expected);
+        } finally {
+            parallelSearch.destroy();
+        }
+    }
+}
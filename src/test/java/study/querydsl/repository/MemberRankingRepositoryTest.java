@@ -0,0 +1,68 @@
+package study.querydsl.repository;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@SpringBootTest
+@Transactional
+class MemberRankingRepositoryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRankingRepository memberRankingRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 40, teamA));
+        em.persist(new Member("member5", 15, teamB));
+        em.persist(new Member("member6", 25, teamB));
+        em.persist(new Member("member7", 25, teamB));
+        em.persist(new Member("member8", 35, teamB));
+        em.persist(new Member("member9", 99));
+    }
+
+    /**
+     * 팀별 상위 N 명 (동갑이면 먼저 저장된 회원)
+     */
+    @Test
+    public void findOldestPerTeamTest() {
+        List<MemberTeamDto> result = memberRankingRepository.findOldestPerTeam(2);
+
+        Assertions.assertThat(result).extracting("username")
+                .containsExactly("member4", "member3", "member8", "member6");
+        Assertions.assertThat(memberRankingRepository.findOldestPerTeamCorrelated(2)).isEqualTo(result);
+    }
+
+    /**
+     * 팀 평균 나이 초과 회원
+     */
+    @Test
+    public void findAboveTeamAverageTest() {
+        List<MemberTeamDto> result = memberRankingRepository.findAboveTeamAverage();
+
+        Assertions.assertThat(result).extracting("username")
+                .containsExactly("member4", "member3", "member8");
+        Assertions.assertThat(memberRankingRepository.findAboveTeamAverageCorrelated()).isEqualTo(result);
+    }
+}
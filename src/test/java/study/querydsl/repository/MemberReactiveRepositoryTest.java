@@ -0,0 +1,139 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchConditionPredicates;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.AgeBracket;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.QTeam;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * R2DBC 커넥션은 JPA 트랜잭션 밖이므로 롤백 없이 커밋 후 정리
+ */
+@SpringBootTest
+class MemberReactiveRepositoryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberReactiveRepository memberReactiveRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team teamA = new Team("reactiveTeamA");
+            Team teamB = new Team("reactiveTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("Reactive1", 10, teamA));
+            em.persist(new Member("reactive2", 25, teamA));
+            em.persist(new Member("reactive3", 35, teamB));
+            em.persist(new Member("reactive_4", 45));
+        });
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            queryFactory.delete(QMember.member).where(QMember.member.usernameLower.startsWith("reactive")).execute();
+            queryFactory.delete(QTeam.team).where(QTeam.team.name.startsWith("reactiveTeam")).execute();
+        });
+    }
+
+    /**
+     * JPA 검색(MemberSearchPredicates)과 같은 결과
+     */
+    @Test
+    public void searchTest() {
+        MemberSearchCondition teamCondition = new MemberSearchCondition();
+        teamCondition.setTeamName("reactiveTeamA");
+        teamCondition.setAgeGoe(20);
+        assertSameAsJpa(teamCondition, "reactive2");
+
+        MemberSearchCondition ignoreCaseCondition = new MemberSearchCondition();
+        ignoreCaseCondition.setUsernameIgnoreCase("REACTIVE1");
+        assertSameAsJpa(ignoreCaseCondition, "Reactive1");
+
+        MemberSearchCondition prefixCondition = new MemberSearchCondition();
+        prefixCondition.setUsernamePrefix("Reactive");
+        prefixCondition.setAgeBracket(AgeBracket.AGE_31_40);
+        assertSameAsJpa(prefixCondition, "reactive3");
+
+        // like 특수문자는 escape
+        MemberSearchCondition containsCondition = new MemberSearchCondition();
+        containsCondition.setUsernameContains("e_");
+        assertSameAsJpa(containsCondition, "reactive_4");
+    }
+
+    /**
+     * 조건 필드마다(생성된 sample 조건) SQL 로 옮겨지고 JPA 검색과 같은 결과
+     * - 새 조건 필드의 연산/경로를 SQL 로 옮길 수 없으면 search 에서 IllegalArgumentException
+     */
+    @Test
+    public void everyConditionFieldTest() {
+        int fields = Integer.numberOfTrailingZeros(MemberSearchConditionPredicates.SHAPE_COUNT);
+        for (int i = 0; i < fields; i++) {
+            MemberSearchCondition condition = MemberSearchConditionPredicates.sample(1 << i);
+            List<MemberTeamDto> reactive = memberReactiveRepository.search(condition).collectList().block();
+
+            Assertions.assertThat(reactive).as(MemberSearchConditionPredicates.shapeKey(1 << i))
+                    .containsExactlyInAnyOrderElementsOf(memberJpaRepository.search(condition));
+        }
+    }
+
+    /**
+     * 2건만 받고 취소하면 커넥션이 풀에 반환됨
+     */
+    @Test
+    public void cancelReleasesConnectionTest() throws InterruptedException {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("reactive");
+
+        List<MemberTeamDto> result = memberReactiveRepository.search(condition).take(2).collectList().block();
+
+        Assertions.assertThat(result).extracting("username").containsExactly("Reactive1", "reactive2");
+        Gauge acquired = meterRegistry.get("member.reactive.pool.acquired").gauge();
+        for (int i = 0; i < 50 && acquired.value() > 0; i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertThat(acquired.value()).isZero();
+    }
+
+    private void assertSameAsJpa(MemberSearchCondition condition, String... usernames) {
+        List<MemberTeamDto> reactive = memberReactiveRepository.search(condition).collectList().block();
+        List<MemberTeamDto> jpa = memberJpaRepository.search(condition);
+
+        Assertions.assertThat(reactive).extracting("username").containsExactly(usernames);
+        Assertions.assertThat(reactive).containsExactlyInAnyOrderElementsOf(jpa);
+    }
+}
@@ -7,14 +7,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeBracketCountDto;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.AgeBracket;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Arrays;
 import java.util.List;
 
 @SpringBootTest
@@ -73,6 +76,106 @@ class MemberRepositoryTest {
         Assertions.assertThat(result).extracting("username").containsExactly("member4");
     }
 
+    /**
+     * 나이 범위 조건 (ageGoe <= age <= ageLoe)
+     */
+    @Test
+    public void searchAgeRangeTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 40, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+        condition.setAgeLoe(30);
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+
+        Assertions.assertThat(result).extracting("username").containsExactly("member2", "member3");
+    }
+
+    /**
+     * 대소문자 무시 / 접두어 조건 (username_lower 컬럼)
+     */
+    @Test
+    public void searchUsernameIgnoreCaseTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("Kim1", 10, teamA));
+        em.persist(new Member("kim2", 20, teamA));
+        em.persist(new Member("lee_1", 30, teamA));
+        em.persist(new Member("leex1", 40, teamA));
+
+        MemberSearchCondition ignoreCase = new MemberSearchCondition();
+        ignoreCase.setUsernameIgnoreCase("KIM1");
+        Assertions.assertThat(memberRepository.search(ignoreCase)).extracting("username").containsExactly("Kim1");
+
+        MemberSearchCondition prefix = new MemberSearchCondition();
+        prefix.setUsernamePrefix("KI");
+        Assertions.assertThat(memberRepository.search(prefix)).extracting("username").containsExactlyInAnyOrder("Kim1", "kim2");
+
+        // _ 는 와일드카드가 아닌 문자로 비교
+        MemberSearchCondition escaped = new MemberSearchCondition();
+        escaped.setUsernamePrefix("LEE_");
+        Assertions.assertThat(memberRepository.search(escaped)).extracting("username").containsExactly("lee_1");
+    }
+
+    /**
+     * 부분 일치 조건 (trigram 색인 비활성 시 like 로 처리)
+     */
+    @Test
+    public void searchUsernameContainsTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("kimMember", 10, teamA));
+        em.persist(new Member("leeMEMBER", 20, teamA));
+        em.persist(new Member("parkTeam", 30, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernameContains("member");
+
+        Assertions.assertThat(memberRepository.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("kimMember", "leeMEMBER");
+    }
+
+    /**
+     * 나이 구간 조건 / 구간별 회원 수
+     */
+    @Test
+    public void countByAgeBracketTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 25, teamB));
+        em.persist(new Member("member4", 45, teamB));
+
+        List<AgeBracketCountDto> result = memberRepository.countByAgeBracket(new MemberSearchCondition());
+        Assertions.assertThat(result).extracting("ageBracket", "count").containsExactly(
+                Assertions.tuple(AgeBracket.AGE_0_20, 2L)
+                , Assertions.tuple(AgeBracket.AGE_21_30, 1L)
+                , Assertions.tuple(AgeBracket.AGE_41_OVER, 1L));
+
+        MemberSearchCondition teamCondition = new MemberSearchCondition();
+        teamCondition.setTeamName("teamB");
+        Assertions.assertThat(memberRepository.countByAgeBracket(teamCondition)).extracting("ageBracket")
+                .containsExactly(AgeBracket.AGE_21_30, AgeBracket.AGE_41_OVER);
+
+        MemberSearchCondition bracketCondition = new MemberSearchCondition();
+        bracketCondition.setAgeBracket(AgeBracket.AGE_0_20);
+        Assertions.assertThat(memberRepository.search(bracketCondition)).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2");
+    }
+
     @Test
     public void searchPageSimple() {
         Team teamA = new Team("teamA");
@@ -98,6 +201,29 @@ class MemberRepositoryTest {
         Assertions.assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    public void searchBatchTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+
+        MemberSearchCondition conditionA = new MemberSearchCondition();
+        conditionA.setTeamName("teamA");
+        MemberSearchCondition conditionB = new MemberSearchCondition();
+        conditionB.setTeamName("teamB");
+
+        List<List<MemberTeamDto>> result = memberRepository.searchBatch(Arrays.asList(conditionB, conditionA));
+
+        Assertions.assertThat(result).hasSize(2);
+        Assertions.assertThat(result.get(0)).extracting("username").containsExactly("member3");
+        Assertions.assertThat(result.get(1)).extracting("username").containsExactly("member1", "member2");
+    }
+
     /**
      * QuerydslPredicateExecutor
      */
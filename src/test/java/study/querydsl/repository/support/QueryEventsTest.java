@@ -0,0 +1,72 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.Fetchable;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * RecordingStream 으로 QueryExecutionEvent 를 받아 필드 확인
+ */
+class QueryEventsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void recordsShapeKey() throws InterruptedException {
+        Fetchable<String> query = Mockito.mock(Fetchable.class);
+        when(query.fetch()).thenReturn(Arrays.asList("member1", "member2"));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        condition.setAgeGoe(10);
+
+        BlockingQueue<RecordedEvent> events = new LinkedBlockingQueue<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(QueryExecutionEvent.class).withThreshold(Duration.ZERO);
+            stream.onEvent("study.querydsl.QueryExecution", events::add);
+            stream.startAsync();
+
+            QueryEvents.fetch("MemberJpaRepository", "search", QueryEvents.shapeOf(condition), query);
+
+            RecordedEvent event = events.poll(10, TimeUnit.SECONDS);
+            Assertions.assertThat(event).isNotNull();
+            Assertions.assertThat(event.getString("repository")).isEqualTo("MemberJpaRepository");
+            Assertions.assertThat(event.getString("method")).isEqualTo("search");
+            Assertions.assertThat(event.getString("phase")).isEqualTo(QueryEvents.CONTENT);
+            Assertions.assertThat(event.getString("shape")).isEqualTo("[username,ageGoe]");
+            Assertions.assertThat(event.getLong("rows")).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void recordsCountValueAsRows() throws InterruptedException {
+        Fetchable<String> query = Mockito.mock(Fetchable.class);
+        when(query.fetchCount()).thenReturn(42L);
+
+        BlockingQueue<RecordedEvent> events = new LinkedBlockingQueue<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(QueryExecutionEvent.class).withThreshold(Duration.ZERO);
+            stream.onEvent("study.querydsl.QueryExecution", events::add);
+            stream.startAsync();
+
+            QueryEvents.fetchCount("MemberJpaRepository", "searchPage", null, query);
+
+            RecordedEvent event = events.poll(10, TimeUnit.SECONDS);
+            Assertions.assertThat(event).isNotNull();
+            Assertions.assertThat(event.getString("phase")).isEqualTo(QueryEvents.COUNT);
+            Assertions.assertThat(event.getLong("rows")).isEqualTo(42);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package study.querydsl.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.persistence.EntityManager;
+
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+class MemberIngestionServiceTest {
+
+    @Autowired
+    MemberIngestionService memberIngestionService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    List<Long> ingestedIds = new ArrayList<>();
+
+    /**
+     * 커밋된 데이터가 다른 테스트의 집계에 섞이지 않도록 정리
+     */
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteAllById(ingestedIds);
+    }
+
+    /**
+     * 배치 저장 후 Future 로 id 반환
+     */
+    @Test
+    public void submitTest() {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(memberIngestionService.submit("ingest" + i, i, null));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            Long memberId = futures.get(i).join();
+            ingestedIds.add(memberId);
+            Member findMember = memberRepository.findById(memberId).get();
+            Assertions.assertThat(findMember.getUsername()).isEqualTo("ingest" + i);
+        }
+    }
+
+    /**
+     * 배치 중 한 건이 실패해도 (없는 팀 FK 위반) 나머지는 한 건씩 다시 저장되어 id 로 완료
+     */
+    @Test
+    public void failingRowDoesNotFailBatch() {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(memberIngestionService.submit("ingest" + i, i, null));
+        }
+        CompletableFuture<Long> failing = memberIngestionService.submit("ingestNoTeam", 10, Long.MAX_VALUE);
+
+        for (int i = 0; i < futures.size(); i++) {
+            Long memberId = futures.get(i).join();
+            ingestedIds.add(memberId);
+            Assertions.assertThat(memberRepository.findById(memberId).get().getUsername()).isEqualTo("ingest" + i);
+        }
+        Assertions.assertThatThrownBy(failing::join).isInstanceOf(CompletionException.class);
+    }
+
+    /**
+     * 종료 시 저장되지 못한 요청은 예외로 완료되고, 종료 이후 요청은 거절
+     * - 워커를 시작하지 않은 인스턴스로 큐에 남은 요청을 재현
+     */
+    @Test
+    public void shutdownRejectsRemaining() throws InterruptedException {
+        MemberIngestionService service = new MemberIngestionService(
+                mock(EntityManager.class), mock(PlatformTransactionManager.class), 10, 5, 50, 100);
+
+        CompletableFuture<Long> queued = service.submit("queued", 10, null);
+        service.shutdown();
+        CompletableFuture<Long> afterShutdown = service.submit("late", 10, null);
+
+        Assertions.assertThatThrownBy(queued::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        Assertions.assertThatThrownBy(afterShutdown::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+}